@@ -0,0 +1,112 @@
+package benchmark;
+
+import chess.ChessBoard;
+import chess.ChessGame;
+import chess.ChessPiece;
+import chess.ChessPosition;
+import chess.MoveList;
+import chess.Perft;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the per-position move generation and status queries, measured once per position
+ * (all pieces of the side to move).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    @Param({"startpos", "kiwipete"})
+    public String position;
+
+    private ChessGame game;
+    private ChessBoard board;
+    private final List<ChessPosition> pieces = new ArrayList<>();
+    private final MoveList moves = new MoveList();
+
+    @Setup
+    public void setUp() {
+        game = Positions.load(position);
+        board = game.getBoard();
+        pieces.clear();
+        for (int row = 1; row <= 8; row++) {
+            for (int col = 1; col <= 8; col++) {
+                ChessPiece piece = board.getPiece(ChessPosition.of(row, col));
+                if (piece != null && piece.getTeamColor() == game.getTeamTurn()) {
+                    pieces.add(ChessPosition.of(row, col));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Blackhole blackhole) {
+        for (ChessPosition square : pieces) {
+            blackhole.consume(board.getPiece(square).pieceMoves(board, square));
+        }
+    }
+
+    @Benchmark
+    public void validMoves(Blackhole blackhole) {
+        for (ChessPosition square : pieces) {
+            blackhole.consume(game.validMoves(square));
+        }
+    }
+
+    @Benchmark
+    public int legalMovesPacked() {
+        game.legalMoves(moves);
+        return moves.size();
+    }
+
+    @Benchmark
+    public boolean isInCheck() {
+        return game.isInCheck(game.getTeamTurn());
+    }
+
+    /**
+     * The status is cached per position, so each call gets a freshly loaded game to make it search again.
+     */
+    @Benchmark
+    public boolean isInCheckmate(FreshGame fresh) {
+        return fresh.game.isInCheckmate(fresh.game.getTeamTurn());
+    }
+
+    /**
+     * A game with nothing cached yet, reloaded before every invocation.
+     */
+    @State(Scope.Thread)
+    public static class FreshGame {
+        ChessGame game;
+
+        @Setup(Level.Invocation)
+        public void load(MoveGenerationBenchmark benchmark) {
+            game = Positions.load(benchmark.position);
+        }
+    }
+
+    /**
+     * Named positions shared by the benchmarks.
+     */
+    static final class Positions {
+        private Positions() {
+        }
+
+        static ChessGame load(String name) {
+            return switch (name) {
+                case "startpos" -> Perft.position(Perft.START_POSITION, ChessGame.TeamColor.WHITE);
+                case "kiwipete" -> Perft.position(Perft.KIWIPETE, ChessGame.TeamColor.WHITE);
+                default -> throw new IllegalArgumentException("Unknown position: " + name);
+            };
+        }
+    }
+}
@@ -3,13 +3,17 @@ package client;
 import chess.ChessGame;
 import chess.ChessMove;
 import chess.ChessPosition;
+import chess.Fen;
+import chess.InvalidMoveException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import model.GameData;
+import websocket.commands.ConnectCommand;
 import websocket.commands.MakeMoveCommand;
 import websocket.commands.UserGameCommand;
 import websocket.commands.UserGameCommand.CommandType;
+import websocket.messages.MoveMessage;
 
 import javax.websocket.*;
 import java.io.IOException;
@@ -29,6 +33,7 @@ public class ChessClient {
     private static String currentAuthToken;
     private static int currentGameID;
     private static String currentPlayerColor = "WHITE"; // 기본값
+    private static ChessGame currentGame; // 마지막으로 받은 게임 상태 (MOVE delta 적용 대상)
 
     public static void main(String[] args) {
         connectWebSocket();
@@ -86,33 +91,30 @@ public class ChessClient {
                 case "LOAD_GAME" -> {
                     System.out.println("\n[Game Updated] Board received.");
 
-                    // game 객체 파싱
-                    JsonObject gameJson = jsonObj.getAsJsonObject("game");
-                    ChessGame game = gson.fromJson(gameJson, ChessGame.class);
-
-                    // 현재 로그인된 사용자 이름 가져오기
-                    String currentUser = SERVER_FACADE.getCurrentUsername();
-                    String perspective = "WHITE"; // 기본값
-
-                    // 현재 GameData에서 WHITE or BLACK 여부 확인
-                    List<GameData> games = SERVER_FACADE.listGames();
-                    GameData currentGame = games.stream()
-                            .filter(g -> g.gameID() == currentGameID)
-                            .findFirst()
-                            .orElse(null);
-
-                    if (currentGame != null && currentUser != null) {
-                        if (currentUser.equals(currentGame.blackUsername())) {
-                            perspective = "BLACK";
-                        } else if (currentUser.equals(currentGame.whiteUsername())) {
-                            perspective = "WHITE";
-                        } else {
-                            perspective = "WHITE"; // 관전자도 WHITE 기준으로 봄
-                        }
-                    }
+                    // FEN 또는 game 객체 파싱
+                    currentGame = jsonObj.has("fen")
+                            ? Fen.parse(jsonObj.get("fen").getAsString())
+                            : gson.fromJson(jsonObj.getAsJsonObject("game"), ChessGame.class);
+                    drawCurrentGame();
+                }
 
-                    // 보드 출력
-                    ChessClientUtils.drawBoard(game, perspective);
+                case "MOVE" -> {
+                    MoveMessage update = gson.fromJson(message, MoveMessage.class);
+                    // 순서가 끊겼거나 로컬 보드와 맞지 않으면 전체 상태를 다시 요청
+                    if (currentGame == null || update.getSequence() != currentGame.getPlyCount() + 1) {
+                        sendCommand(new UserGameCommand(CommandType.RESYNC, currentAuthToken, currentGameID));
+                        return;
+                    }
+                    try {
+                        currentGame.makeMove(update.getMove());
+                    } catch (InvalidMoveException e) {
+                        currentGame = null;
+                        sendCommand(new UserGameCommand(CommandType.RESYNC, currentAuthToken, currentGameID));
+                        return;
+                    }
+                    System.out.println("\n[Game Updated] " + update.getMove().getStartPosition() + " -> "
+                            + update.getMove().getEndPosition() + " (" + update.getStatus() + ")");
+                    drawCurrentGame();
                 }
 
                 case "ERROR" -> {
@@ -266,7 +268,7 @@ public class ChessClient {
             currentPlayerColor = color;
             if (SERVER_FACADE.joinGame(gameID, color)) {
                 System.out.println("Joined game!");
-                sendCommand(new UserGameCommand(CommandType.CONNECT, currentAuthToken, gameID));
+                sendCommand(new ConnectCommand(currentAuthToken, gameID, ConnectCommand.PositionFormat.FEN, true));
             } else {
                 System.out.println("Join failed.");
             }
@@ -290,7 +292,7 @@ public class ChessClient {
             int gameID = games.get(index - 1).gameID();
             currentGameID = gameID;
             currentPlayerColor = "WHITE"; // default 관전자 시야
-            sendCommand(new UserGameCommand(CommandType.CONNECT, currentAuthToken, gameID));
+            sendCommand(new ConnectCommand(currentAuthToken, gameID, ConnectCommand.PositionFormat.FEN, true));
         } catch (NumberFormatException e) {
             System.out.println("GAME_ID must be a number.");
         }
@@ -365,27 +367,30 @@ public class ChessClient {
         return "WHITE"; // default to WHITE perspective
     }
 
+    /** 현재 사용자의 시점으로 currentGame 출력 (관전자는 WHITE 기준) */
+    private static void drawCurrentGame() {
+        // 시점은 join/observe 때 정해진 색을 그대로 사용 - 메시지 처리 중에는 서버에 묻지 않음
+        String perspective = "BLACK".equals(currentPlayerColor) ? "BLACK" : "WHITE";
+        ChessClientUtils.drawBoard(currentGame, perspective);
+    }
+
     private static void redrawBoard() {
         try {
-            List<GameData> games = SERVER_FACADE.listGames();
-            GameData currentGame = games.stream()
-                    .filter(g -> g.gameID() == currentGameID)
-                    .findFirst()
-                    .orElse(null);
+            GameData gameData = SERVER_FACADE.getGame(currentGameID);
 
-            if (currentGame == null) {
+            if (gameData == null) {
                 System.out.println("Game not found.");
                 return;
             }
 
-            ChessGame game = currentGame.game();
+            ChessGame game = gameData.game();
             String currentUser = SERVER_FACADE.getCurrentUsername();
 
             String perspective = "WHITE";
             if (currentUser != null) {
-                if (currentUser.equals(currentGame.blackUsername())) {
+                if (currentUser.equals(gameData.blackUsername())) {
                     perspective = "BLACK";
-                } else if (currentUser.equals(currentGame.whiteUsername())) {
+                } else if (currentUser.equals(gameData.whiteUsername())) {
                     perspective = "WHITE";
                 }
             }
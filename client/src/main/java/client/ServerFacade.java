@@ -4,8 +4,9 @@ import java.io.*;
 import java.net.*;
 import java.util.*;
 import com.google.gson.*;
-import com.google.gson.reflect.TypeToken;
+import chess.Fen;
 import model.GameData;
+import model.GameSummary;
 
 public class ServerFacade {
     private final String serverUrl;
@@ -114,7 +115,8 @@ public class ServerFacade {
     }
 
     /**
-     * Lists all available games from the server.
+     * Lists all available games from the server, following the server's pages in gameID order. Only IDs,
+     * names and players are sent, so the returned games have no game state; use {@link #getGame(int)} to load one.
      */
     public List<GameData> listGames() {
         if (authToken == null || authToken.isEmpty()) {
@@ -125,26 +127,57 @@ public class ServerFacade {
         Map<String, String> headers = new HashMap<>();
         headers.put("Authorization", authToken);
 
-        String response = sendRequest(serverUrl + "/game", "GET", "", headers);
-//        System.out.println("Server response: " + response);
+        List<GameData> games = new ArrayList<>();
+        Integer cursor = 0;
+        while (cursor != null) {
+            String response = sendRequest(serverUrl + "/game?after=" + cursor, "GET", "", headers);
+            if (response == null) {
+                return games;
+            }
 
-        if (response == null) {
-            return new ArrayList<>();
+            try {
+                GameListPage page = new Gson().fromJson(response, GameListPage.class);
+                if (page == null || page.games() == null) {
+                    System.out.println("Error: 'games' key missing in response.");
+                    return games;
+                }
+                for (GameSummary game : page.games()) {
+                    games.add(new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName(), null));
+                }
+                cursor = page.nextCursor();
+            } catch (Exception e) {
+                System.out.println("Error parsing game list response: " + e.getMessage());
+                return games;
+            }
         }
+        return games;
+    }
 
-        try {
-            Map<String, Object> jsonResponse = new Gson().fromJson(response, Map.class);
+    /**
+     * Loads one game, including its state (sent as FEN).
+     *
+     * @return the game, or null if it could not be loaded
+     */
+    public GameData getGame(int gameID) {
+        if (authToken == null || authToken.isEmpty()) {
+            System.out.println("Error: User is not logged in.");
+            return null;
+        }
 
-            if (jsonResponse == null || !jsonResponse.containsKey("games")) {
-                System.out.println("Error: 'games' key missing in response.");
-                return new ArrayList<>();
-            }
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", authToken);
+
+        String response = sendRequest(serverUrl + "/game/" + gameID + "?format=fen", "GET", "", headers);
+        if (response == null) {
+            return null;
+        }
 
-            return new Gson().fromJson(new Gson().toJson(jsonResponse.get("games")),
-                    new TypeToken<List<GameData>>() {}.getType());
+        try {
+            FenGameData game = new Gson().fromJson(response, FenGameData.class);
+            return (game == null || game.gameID() == 0) ? null : game.toGameData();
         } catch (Exception e) {
-            System.out.println("Error parsing game list response: " + e.getMessage());
-            return new ArrayList<>();
+            System.out.println("Error parsing game response: " + e.getMessage());
+            return null;
         }
     }
 
@@ -312,4 +345,19 @@ public class ServerFacade {
 
 
 
-}
\ No newline at end of file
+
+    /**
+     * A game as sent for {@code GET /game/{id}?format=fen}.
+     */
+    private record FenGameData(int gameID, String whiteUsername, String blackUsername, String gameName, String fen) {
+        GameData toGameData() {
+            return new GameData(gameID, whiteUsername, blackUsername, gameName, (fen == null) ? null : Fen.parse(fen));
+        }
+    }
+
+    /**
+     * One page of {@code GET /game}; {@code nextCursor} is absent on the last page.
+     */
+    private record GameListPage(List<GameSummary> games, Integer nextCursor) {
+    }
+}
@@ -0,0 +1,146 @@
+package dataaccess;
+
+import model.AuthData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache in front of another {@link AuthDAO}.
+ * <p>
+ * Every request validates its token, so caching {@link #getAuth} removes most auth queries. The cache keeps
+ * at most {@code maxSize} tokens, evicting the least recently used, and re-reads a token once it is older
+ * than the TTL. Tokens created or deleted through this DAO update the cache at once; the TTL only bounds
+ * how long a token deleted behind its back (e.g. by another server) keeps working. Unknown tokens are not
+ * cached, so a bad token always costs a query.
+ */
+public class CachingAuthDAO implements AuthDAO {
+
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    /**
+     * @param size        tokens currently cached
+     * @param hits        lookups answered from the cache
+     * @param misses      lookups that went to the underlying DAO
+     * @param evictions   tokens dropped to stay within the size limit
+     * @param expirations tokens dropped because they outlived the TTL
+     */
+    public record Stats(int size, long hits, long misses, long evictions, long expirations) {
+        public double hitRate() {
+            long lookups = hits + misses;
+            return (lookups == 0) ? 0 : (double) hits / lookups;
+        }
+    }
+
+    private record Entry(AuthData auth, long loadedAt) {
+    }
+
+    private final AuthDAO delegate;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // guarded by this; access order, so the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> cache;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    // bumped by every delete/clear, so a lookup that raced with one does not cache what it read
+    private long invalidations;
+
+    public CachingAuthDAO(AuthDAO delegate) {
+        this(delegate, DEFAULT_MAX_SIZE, DEFAULT_TTL_MILLIS);
+    }
+
+    public CachingAuthDAO(AuthDAO delegate, int maxSize, long ttlMillis) {
+        if (maxSize < 1 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Auth cache size and TTL must be positive");
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CachingAuthDAO.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public void createAuth(AuthData auth) throws DataAccessException {
+        delegate.createAuth(auth);
+        put(auth);
+    }
+
+    @Override
+    public AuthData getAuth(String authToken) throws DataAccessException {
+        if (authToken == null) {
+            return delegate.getAuth(null);
+        }
+        long generation;
+        synchronized (this) {
+            generation = invalidations;
+            Entry entry = cache.get(authToken);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt() < ttlNanos) {
+                    hits++;
+                    return entry.auth();
+                }
+                cache.remove(authToken);
+                expirations++;
+            }
+            misses++;
+        }
+        AuthData auth = delegate.getAuth(authToken);
+        if (auth != null) {
+            synchronized (this) {
+                if (generation == invalidations) {
+                    put(auth);
+                }
+            }
+        }
+        return auth;
+    }
+
+    @Override
+    public void deleteAuth(String authToken) throws DataAccessException {
+        invalidate(authToken);
+        delegate.deleteAuth(authToken);
+        // A lookup that started before the delete may still finish; the generation check keeps it out
+        invalidate(authToken);
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        invalidate(null);
+        delegate.clear();
+        invalidate(null);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(cache.size(), hits, misses, evictions, expirations);
+    }
+
+    /**
+     * Drops one token, or every token if {@code authToken} is null.
+     */
+    private synchronized void invalidate(String authToken) {
+        invalidations++;
+        if (authToken == null) {
+            cache.clear();
+        } else {
+            cache.remove(authToken);
+        }
+    }
+
+    private synchronized void put(AuthData auth) {
+        cache.put(auth.authToken(), new Entry(auth, System.nanoTime()));
+    }
+}
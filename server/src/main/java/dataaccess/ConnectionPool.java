@@ -0,0 +1,280 @@
+package dataaccess;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small bounded JDBC connection pool behind {@link DatabaseManager#getConnection()}.
+ * <p>
+ * At most {@code maxSize} connections exist at once; callers beyond that wait up to the acquire timeout
+ * and then get an {@link SQLException}, instead of opening more connections until MySQL refuses them.
+ * Idle connections are reused most-recently-used first, checked with the validation query when they have
+ * sat idle for a while, and closed by a background sweep once idle longer than the idle timeout.
+ * <p>
+ * Callers get a proxy whose {@code close()} hands the connection back, so DAO code keeps using
+ * try-with-resources unchanged. A connection left outside auto-commit mode is rolled back on return.
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    /** Opens a new physical connection. */
+    @FunctionalInterface
+    interface Opener {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Point-in-time pool metrics.
+     *
+     * @param open     physical connections currently open (idle + in use)
+     * @param idle     open connections waiting in the pool
+     * @param inUse    connections currently lent out
+     * @param waiting  callers waiting for a connection
+     * @param acquired total successful acquisitions
+     * @param created  total physical connections opened
+     * @param evicted  total connections closed for being idle too long or failing validation
+     * @param timeouts total acquisitions that gave up after the acquire timeout
+     */
+    public record Stats(int open, int idle, int inUse, int waiting, long acquired, long created, long evicted,
+                        long timeouts) {
+    }
+
+    /** Connections idle for less than this are handed out without running the validation query. */
+    private static final long VALIDATE_AFTER_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private record Idle(Connection connection, long since) {
+    }
+
+    private final Opener opener;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final long acquireTimeoutNanos;
+    private final String validationQuery;
+
+    private final Semaphore permits;
+    // guarded by this; newest at the head
+    private final ArrayDeque<Idle> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService sweeper;
+    private volatile boolean closed;
+
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+
+    ConnectionPool(Opener opener, int maxSize, long idleTimeoutMillis, long acquireTimeoutMillis,
+                   String validationQuery) {
+        if (maxSize < 1 || idleTimeoutMillis <= 0 || acquireTimeoutMillis < 0) {
+            throw new IllegalArgumentException("Invalid connection pool settings");
+        }
+        this.opener = opener;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        this.validationQuery = validationQuery;
+        this.permits = new Semaphore(maxSize, true);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a pooled connection; closing it returns it to the pool
+     * @throws SQLException if no connection frees up within the acquire timeout, or one cannot be opened
+     */
+    Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        waiting.incrementAndGet();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos)
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        try {
+            Connection connection = takeIdle();
+            if (connection == null) {
+                connection = opener.open();
+                open.incrementAndGet();
+                created.incrementAndGet();
+            }
+            acquired.incrementAndGet();
+            return lend(connection);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public Stats stats() {
+        int idleCount;
+        synchronized (this) {
+            idleCount = idle.size();
+        }
+        int openCount = open.get();
+        return new Stats(openCount, idleCount, openCount - idleCount, waiting.get(), acquired.get(), created.get(),
+                evicted.get(), timeouts.get());
+    }
+
+    /**
+     * Closes the idle connections; connections still lent out are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        sweeper.shutdownNow();
+        for (Idle entry : drainIdle()) {
+            discard(entry.connection(), false);
+        }
+    }
+
+    /**
+     * @return a validated idle connection, or null if a new one has to be opened
+     */
+    private Connection takeIdle() {
+        while (true) {
+            Idle entry;
+            synchronized (this) {
+                entry = idle.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.since() < VALIDATE_AFTER_NANOS || isValid(entry.connection())) {
+                return entry.connection();
+            }
+            discard(entry.connection(), true);
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute(validationQuery);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(Connection connection) {
+        try {
+            if (closed || connection.isClosed()) {
+                discard(connection, false);
+                return;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            synchronized (this) {
+                idle.addFirst(new Idle(connection, System.nanoTime()));
+            }
+        } catch (SQLException e) {
+            discard(connection, true);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - idleTimeoutNanos;
+        synchronized (this) {
+            // Oldest entries are at the tail
+            for (Iterator<Idle> it = idle.descendingIterator(); it.hasNext(); ) {
+                Idle entry = it.next();
+                if (entry.since() - cutoff > 0) {
+                    break;
+                }
+                it.remove();
+                discard(entry.connection(), true);
+            }
+        }
+    }
+
+    private synchronized Idle[] drainIdle() {
+        Idle[] entries = idle.toArray(new Idle[0]);
+        idle.clear();
+        return entries;
+    }
+
+    private void discard(Connection connection, boolean evict) {
+        open.decrementAndGet();
+        if (evict) {
+            evicted.incrementAndGet();
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Already broken; nothing more to release
+        }
+    }
+
+    /**
+     * Wraps a physical connection so that {@code close()} returns it to the pool exactly once.
+     */
+    private Connection lend(Connection connection) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close" -> {
+                            synchronized (returned) {
+                                if (!returned[0]) {
+                                    returned[0] = true;
+                                    release(connection);
+                                }
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            synchronized (returned) {
+                                return returned[0] || connection.isClosed();
+                            }
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        default -> {
+                            synchronized (returned) {
+                                if (returned[0]) {
+                                    throw new SQLException("Connection has been returned to the pool");
+                                }
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,28 @@
+package dataaccess;
+
+import java.util.Locale;
+
+/**
+ * Where the server keeps users, auth tokens and games.
+ */
+public enum DataStore {
+    /** The MySQL database described by db.properties. */
+    MYSQL,
+    /**
+     * This process's memory, through the {@code Memory*DAO} classes. Needs no database, but everything is
+     * lost when the server stops; meant for load tests and throwaway single-node servers.
+     */
+    MEMORY,
+    /**
+     * Append-only log files under {@code db.file.dir}, through {@link LogStore} and the {@code File*DAO}
+     * classes. Durable without a database server.
+     */
+    FILE;
+
+    /**
+     * Parses a store name such as the {@code db.store} property, case-insensitively.
+     */
+    public static DataStore parse(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
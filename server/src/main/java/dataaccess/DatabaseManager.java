@@ -2,11 +2,14 @@ package dataaccess;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Properties;
 import java.io.InputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 
 public class DatabaseManager {
     private static final String DB_PROPERTIES = "/db.properties";
@@ -14,6 +17,23 @@ public class DatabaseManager {
     private static final String DB_USER;
     private static final String DB_PASSWORD;
     private static final String DB_NAME;
+    private static final DataStore DATA_STORE;
+    private static final Path FILE_DIR;
+    private static final boolean FILE_SYNC_WRITES;
+    private static final long FILE_COMPACT_INTERVAL_MILLIS;
+    private static final long FILE_COMPACT_MIN_BYTES;
+    private static final GameStateFormat GAME_STATE_FORMAT;
+    private static final GameWriteMode GAME_WRITE_MODE;
+    private static final long WRITE_BEHIND_INTERVAL_MILLIS;
+    private static final int WRITE_BEHIND_BATCH_SIZE;
+    private static final int POOL_MAX_SIZE;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS;
+    private static final long POOL_ACQUIRE_TIMEOUT_MILLIS;
+    private static final String POOL_VALIDATION_QUERY;
+    // mysql 저장소일 때만 필요하므로 처음 연결을 요청할 때 생성
+    private static ConnectionPool pool;
+    private static final int AUTH_CACHE_SIZE;
+    private static final long AUTH_CACHE_TTL_MILLIS;
 
     static {
         try (InputStream input = DatabaseManager.class.getResourceAsStream(DB_PROPERTIES)) {
@@ -27,17 +47,104 @@ public class DatabaseManager {
             DB_NAME = prop.getProperty("db.name");
             DB_USER = prop.getProperty("db.user");
             DB_PASSWORD = prop.getProperty("db.password");
+            // 선택: 저장소 (mysql | memory | file)
+            DATA_STORE = DataStore.parse(prop.getProperty("db.store", "mysql"));
+            // 선택: file 저장소의 디렉터리, 쓰기마다 디스크 동기화 여부, 로그 압축 주기 / 최소 크기
+            FILE_DIR = Path.of(prop.getProperty("db.file.dir", "chess-data").trim());
+            FILE_SYNC_WRITES = Boolean.parseBoolean(prop.getProperty("db.file.syncWrites", "false").trim());
+            FILE_COMPACT_INTERVAL_MILLIS = Long.parseLong(prop.getProperty("db.file.compactIntervalMs", "60000").trim());
+            FILE_COMPACT_MIN_BYTES = Long.parseLong(prop.getProperty("db.file.compactMinBytes", "1048576").trim());
+            // 선택: 게임 상태 저장 형식 (binary | json)
+            GAME_STATE_FORMAT = GameStateFormat.parse(prop.getProperty("db.gameStateFormat", "binary"));
+            // 선택: 게임 상태 저장 시점 (sync | batched | on_game_end) 과 저장 주기 / 최대 대기 게임 수
+            // 뒤로 갈수록 DB 쓰기는 줄지만 서버가 죽으면 잃는 수가 늘어남:
+            //   sync        - 잃는 수 없음
+            //   batched     - 최대 db.writeBehindIntervalMs (기본 250ms) 동안의 수
+            //   on_game_end - 진행 중인 게임의 최대 db.writeBehindIntervalMs (기본 60초) 동안의 수
+            //                 (자리 변경과 게임 종료는 바로 저장)
+            // 두 모드 모두 db.writeBehindBatchSize개 게임이 쌓이면 주기와 관계없이 바로 저장
+            GAME_WRITE_MODE = GameWriteMode.parse(prop.getProperty("db.gameWriteMode", "batched"));
+            WRITE_BEHIND_INTERVAL_MILLIS = Long.parseLong(prop.getProperty("db.writeBehindIntervalMs",
+                    String.valueOf(WriteBehindGameDAO.defaultFlushInterval(GAME_WRITE_MODE))).trim());
+            WRITE_BEHIND_BATCH_SIZE = Integer.parseInt(prop.getProperty("db.writeBehindBatchSize",
+                    String.valueOf(WriteBehindGameDAO.DEFAULT_BATCH_SIZE)).trim());
+            // 선택: 커넥션 풀 설정
+            POOL_MAX_SIZE = Integer.parseInt(prop.getProperty("db.pool.maxSize", "10").trim());
+            POOL_IDLE_TIMEOUT_MILLIS = Long.parseLong(prop.getProperty("db.pool.idleTimeoutMs", "300000").trim());
+            POOL_ACQUIRE_TIMEOUT_MILLIS = Long.parseLong(prop.getProperty("db.pool.acquireTimeoutMs", "5000").trim());
+            POOL_VALIDATION_QUERY = prop.getProperty("db.pool.validationQuery", "SELECT 1");
+            // 선택: authToken 캐시 크기 / 유효 시간
+            AUTH_CACHE_SIZE = Integer.parseInt(prop.getProperty("db.authCache.maxSize",
+                    String.valueOf(CachingAuthDAO.DEFAULT_MAX_SIZE)).trim());
+            AUTH_CACHE_TTL_MILLIS = Long.parseLong(prop.getProperty("db.authCache.ttlMs",
+                    String.valueOf(CachingAuthDAO.DEFAULT_TTL_MILLIS)).trim());
         } catch (IOException ex) {
             ex.printStackTrace();
             throw new RuntimeException("Failed to load database properties: " + ex.getMessage());
         }
     }
 
-    /** DB 연결 가져오기 */
+    /** DB 연결 가져오기 (커넥션 풀에서 빌려오며, close()하면 풀로 반환됨) */
     public static Connection getConnection() throws SQLException {
+        return pool().acquire();
+    }
+
+    /** 커넥션 풀 현황 */
+    public static ConnectionPool.Stats poolStats() {
+        return pool().stats();
+    }
+
+    /** 커넥션 풀과 sweeper 스레드 종료 (다음 getConnection()에서 새 풀 생성) */
+    public static synchronized void closePool() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static synchronized ConnectionPool pool() {
+        if (pool == null) {
+            pool = new ConnectionPool(DatabaseManager::openConnection, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT_MILLIS,
+                    POOL_ACQUIRE_TIMEOUT_MILLIS, POOL_VALIDATION_QUERY);
+        }
+        return pool;
+    }
+
+    /** 풀을 거치지 않은 새 DB 연결 */
+    static Connection openConnection() throws SQLException {
         return DriverManager.getConnection(DB_URL + DB_NAME, DB_USER, DB_PASSWORD);
     }
 
+    /** 데이터를 어디에 저장하는지 (db.store, 기본값 mysql) */
+    public static DataStore dataStore() {
+        return DATA_STORE;
+    }
+
+    /** file 저장소에서 이름이 name인 로그 파일을 열거나 생성 (db.file.* 설정 사용) */
+    public static LogStore openLogStore(String name) throws DataAccessException {
+        return LogStore.open(FILE_DIR, name, FILE_SYNC_WRITES, FILE_COMPACT_INTERVAL_MILLIS, FILE_COMPACT_MIN_BYTES);
+    }
+
+    /** 새로 저장하는 게임 상태의 형식 (db.gameStateFormat, 기본값 binary) */
+    public static GameStateFormat gameStateFormat() {
+        return GAME_STATE_FORMAT;
+    }
+
+    /** 게임 상태를 언제 DB에 쓰는지 (db.gameWriteMode, 기본값 batched) */
+    public static GameWriteMode gameWriteMode() {
+        return GAME_WRITE_MODE;
+    }
+
+    /** 설정된 저장 시점에 맞춰 game DAO를 감쌈 */
+    public static WriteBehindGameDAO writeBehind(GameDAO gameDAO) {
+        return new WriteBehindGameDAO(gameDAO, GAME_WRITE_MODE, WRITE_BEHIND_INTERVAL_MILLIS, WRITE_BEHIND_BATCH_SIZE);
+    }
+
+    /** authToken 조회 결과를 캐시하도록 auth DAO를 감쌈 */
+    public static CachingAuthDAO cachingAuth(AuthDAO authDAO) {
+        return new CachingAuthDAO(authDAO, AUTH_CACHE_SIZE, AUTH_CACHE_TTL_MILLIS);
+    }
+
     /** DB 및 테이블 자동 생성 */
     public static void initializeDatabase() {
         createDatabase(); // 1️⃣ 데이터베이스 생성
@@ -82,11 +189,18 @@ public class DatabaseManager {
                     blackUsername VARCHAR(50),
                     gameName VARCHAR(100) NOT NULL,
                     gameState TEXT DEFAULT NULL,
+                    gameOver BOOLEAN NOT NULL DEFAULT FALSE,
                     FOREIGN KEY (whiteUsername) REFERENCES users(username) ON DELETE SET NULL,
                     FOREIGN KEY (blackUsername) REFERENCES users(username) ON DELETE SET NULL
                 )
             """;
             stmt.executeUpdate(createGamesTable);
+            addGameOverColumn(conn);
+
+            // 게임 목록 필터 + gameID 커서용 인덱스
+            createIndex(conn, "games", "idx_games_white", "whiteUsername, gameID");
+            createIndex(conn, "games", "idx_games_black", "blackUsername, gameID");
+            createIndex(conn, "games", "idx_games_over", "gameOver, gameID");
 
             // auth_tokens 테이블 생성
             String createAuthTokensTable = """
@@ -100,9 +214,51 @@ public class DatabaseManager {
 
             System.out.println("All tables checked/created!");
 
-        } catch (SQLException e) {
+        } catch (SQLException | DataAccessException e) {
             e.printStackTrace();
             throw new RuntimeException("Error initializing database: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /** 이전 버전에서 만든 games 테이블에 gameOver 컬럼을 추가하고, 저장된 게임 상태로 값을 채움 */
+    private static void addGameOverColumn(Connection conn) throws SQLException, DataAccessException {
+        if (exists(conn, "SELECT 1 FROM information_schema.columns "
+                + "WHERE table_schema = ? AND table_name = 'games' AND column_name = 'gameOver'")) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE games ADD COLUMN gameOver BOOLEAN NOT NULL DEFAULT FALSE");
+        }
+        try (PreparedStatement query = conn.prepareStatement("SELECT gameID, gameState FROM games WHERE gameState IS NOT NULL");
+             PreparedStatement update = conn.prepareStatement("UPDATE games SET gameOver = TRUE WHERE gameID = ?");
+             ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                if (GameStateFormat.decode(rs.getString("gameState")).isGameOver()) {
+                    update.setInt(1, rs.getInt("gameID"));
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    /** 인덱스가 없으면 생성 (MySQL은 CREATE INDEX IF NOT EXISTS를 지원하지 않음) */
+    private static void createIndex(Connection conn, String table, String name, String columns) throws SQLException {
+        if (exists(conn, "SELECT 1 FROM information_schema.statistics "
+                + "WHERE table_schema = ? AND table_name = '" + table + "' AND index_name = '" + name + "'")) {
+            return;
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    private static boolean exists(Connection conn, String sql) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, DB_NAME);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
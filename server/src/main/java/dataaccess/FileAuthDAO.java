@@ -0,0 +1,42 @@
+package dataaccess;
+
+import model.AuthData;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Auth tokens kept in a {@link LogStore}: the token is the key and the username the value.
+ */
+public class FileAuthDAO implements AuthDAO {
+    private final LogStore store;
+
+    public FileAuthDAO(LogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void createAuth(AuthData auth) throws DataAccessException {
+        store.put(auth.authToken(), auth.username().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public AuthData getAuth(String authToken) throws DataAccessException {
+        if (authToken == null) {
+            return null;
+        }
+        byte[] username = store.get(authToken);
+        return (username == null) ? null : new AuthData(authToken, new String(username, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void deleteAuth(String authToken) throws DataAccessException {
+        if (authToken != null) {
+            store.delete(authToken);
+        }
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        store.clear();
+    }
+}
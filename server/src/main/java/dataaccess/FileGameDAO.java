@@ -0,0 +1,205 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.GameStateCodec;
+import model.GameData;
+import model.GameSummary;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Games kept in a {@link LogStore}, one record per game holding its players, name and {@link GameStateCodec} state.
+ * <p>
+ * Each update appends the whole game, so a move costs one small sequential write. The players, name and
+ * whether the game is over are also kept in memory, sorted by gameID, so listings never touch the log.
+ */
+public class FileGameDAO implements GameDAO {
+
+    private record Meta(GameSummary summary, boolean gameOver) {
+    }
+
+    private final LogStore store;
+    // guarded by this for writes, so the log and this map agree on each game's latest record
+    private final ConcurrentNavigableMap<Integer, Meta> games = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextGameID = new AtomicInteger(1);
+
+    public FileGameDAO(LogStore store) throws DataAccessException {
+        this.store = store;
+        for (String key : store.keys()) {
+            byte[] record = store.get(key);
+            if (record != null) {
+                int gameID = Integer.parseInt(key);
+                games.put(gameID, readMeta(gameID, record));
+            }
+        }
+        if (!games.isEmpty()) {
+            nextGameID.set(games.lastKey() + 1);
+        }
+    }
+
+    @Override
+    public synchronized int createGame(GameData game) throws DataAccessException {
+        if (game == null) {
+            throw new DataAccessException("GameData cannot be null");
+        }
+        int gameID = nextGameID.getAndIncrement();
+        write(List.of(new GameData(gameID, game.whiteUsername(), game.blackUsername(), game.gameName(), game.game())));
+        return gameID;
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        byte[] record = store.get(String.valueOf(gameID));
+        return (record == null) ? null : decode(gameID, record);
+    }
+
+    @Override
+    public List<GameData> listGames() throws DataAccessException {
+        List<GameData> list = new ArrayList<>();
+        for (int gameID : games.keySet()) {
+            GameData game = getGame(gameID);
+            if (game != null) {
+                list.add(game);
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public List<GameSummary> listGameSummaries() {
+        List<GameSummary> list = new ArrayList<>();
+        for (Meta meta : games.values()) {
+            list.add(meta.summary());
+        }
+        return list;
+    }
+
+    @Override
+    public GamePage listGameSummaries(GameQuery query) {
+        List<GameSummary> page = new ArrayList<>();
+        for (Meta meta : games.tailMap(query.afterGameID(), false).values()) {
+            if (!query.matches(meta.summary(), meta.gameOver())) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                return new GamePage(page, page.get(page.size() - 1).gameID());
+            }
+            page.add(meta.summary());
+        }
+        return new GamePage(page, null);
+    }
+
+    @Override
+    public synchronized void updateGame(GameData game) throws DataAccessException {
+        if (!games.containsKey(game.gameID())) {
+            throw new DataAccessException("Error: game not found");
+        }
+        write(List.of(game));
+    }
+
+    /**
+     * Appends all the games with one write. Games that no longer exist are skipped.
+     */
+    @Override
+    public synchronized void updateGames(Collection<GameData> updates) throws DataAccessException {
+        List<GameData> existing = new ArrayList<>(updates.size());
+        for (GameData game : updates) {
+            if (games.containsKey(game.gameID())) {
+                existing.add(game);
+            }
+        }
+        write(existing);
+    }
+
+    @Override
+    public synchronized void clear() throws DataAccessException {
+        store.clear();
+        games.clear();
+        nextGameID.set(1);
+    }
+
+    private void write(List<GameData> updates) throws DataAccessException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        for (GameData game : updates) {
+            records.put(String.valueOf(game.gameID()), encode(game));
+        }
+        store.putAll(records);
+        for (GameData game : updates) {
+            games.put(game.gameID(), new Meta(GameSummary.of(game), GameQuery.isFinished(game)));
+        }
+    }
+
+    private static byte[] encode(GameData game) throws DataAccessException {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeNullable(out, game.whiteUsername());
+            writeNullable(out, game.blackUsername());
+            out.writeUTF(game.gameName());
+            out.writeBoolean(GameQuery.isFinished(game));
+            if (game.game() == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] state = GameStateCodec.encode(game.game());
+                out.writeInt(state.length);
+                out.write(state);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new DataAccessException("Error encoding game: " + e.getMessage());
+        }
+    }
+
+    private static GameData decode(int gameID, byte[] record) throws DataAccessException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            String white = readNullable(in);
+            String black = readNullable(in);
+            String name = in.readUTF();
+            in.readBoolean();
+            int length = in.readInt();
+            ChessGame game = (length < 0) ? null : GameStateCodec.decode(in.readNBytes(length));
+            return new GameData(gameID, white, black, name, game);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DataAccessException("Error: unreadable game record " + gameID + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads everything but the game state.
+     */
+    private static Meta readMeta(int gameID, byte[] record) throws DataAccessException {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            String white = readNullable(in);
+            String black = readNullable(in);
+            String name = in.readUTF();
+            return new Meta(new GameSummary(gameID, white, black, name), in.readBoolean());
+        } catch (IOException e) {
+            throw new DataAccessException("Error: unreadable game record " + gameID + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package dataaccess;
+
+import com.google.gson.Gson;
+import model.UserData;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Users kept in a {@link LogStore} as JSON, keyed by username. Like {@link MySQLUserDAO}, it stores the
+ * BCrypt hash of the password.
+ */
+public class FileUserDAO implements UserDAO {
+    private static final Gson GSON = new Gson();
+
+    private final LogStore store;
+
+    public FileUserDAO(LogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void insertUser(UserData user) throws DataAccessException {
+        String hashedPassword = BCrypt.hashpw(user.password(), BCrypt.gensalt());
+        UserData stored = new UserData(user.username(), hashedPassword, user.email());
+        if (!store.insert(user.username(), GSON.toJson(stored).getBytes(StandardCharsets.UTF_8))) {
+            throw new DataAccessException("Error: username already taken");
+        }
+    }
+
+    @Override
+    public UserData getUser(String username) throws DataAccessException {
+        if (username == null) {
+            return null;
+        }
+        byte[] record = store.get(username);
+        return (record == null) ? null : GSON.fromJson(new String(record, StandardCharsets.UTF_8), UserData.class);
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        store.clear();
+    }
+}
@@ -1,6 +1,11 @@
 package dataaccess;
 
 import model.GameData;
+import model.GameSummary;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 public interface GameDAO {
@@ -9,4 +14,53 @@ public interface GameDAO {
     List<GameData> listGames() throws DataAccessException;
     void updateGame(GameData game) throws DataAccessException;
     void clear() throws DataAccessException;
-}
\ No newline at end of file
+
+    /**
+     * Updates a game and returns only once the store has it, for changes that must survive a crash.
+     * Stores that buffer {@link #updateGame} should override this to bypass the buffer.
+     */
+    default void updateGameNow(GameData game) throws DataAccessException {
+        updateGame(game);
+    }
+
+    /**
+     * Updates several games at once. Stores that can write them in one round trip should override this.
+     */
+    default void updateGames(Collection<GameData> games) throws DataAccessException {
+        for (GameData game : games) {
+            updateGame(game);
+        }
+    }
+
+    /**
+     * Lists every game without its state. Stores that can skip reading and decoding the state should override this.
+     */
+    default List<GameSummary> listGameSummaries() throws DataAccessException {
+        List<GameData> games = listGames();
+        List<GameSummary> summaries = new ArrayList<>(games.size());
+        for (GameData game : games) {
+            summaries.add(GameSummary.of(game));
+        }
+        return summaries;
+    }
+
+    /**
+     * Lists one page of games without their state. This default reads every game; stores that can
+     * filter and seek by gameID themselves should override it.
+     */
+    default GamePage listGameSummaries(GameQuery query) throws DataAccessException {
+        List<GameData> games = new ArrayList<>(listGames());
+        games.sort(Comparator.comparingInt(GameData::gameID));
+        List<GameSummary> page = new ArrayList<>();
+        for (GameData game : games) {
+            if (!query.matches(game)) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                return new GamePage(page, page.get(page.size() - 1).gameID());
+            }
+            page.add(GameSummary.of(game));
+        }
+        return new GamePage(page, null);
+    }
+}
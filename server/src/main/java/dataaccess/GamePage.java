@@ -0,0 +1,12 @@
+package dataaccess;
+
+import model.GameSummary;
+
+import java.util.List;
+
+/**
+ * @param games      games of this page, in gameID order
+ * @param nextCursor value for {@link GameQuery#afterGameID()} of the next page, or null if this is the last page
+ */
+public record GamePage(List<GameSummary> games, Integer nextCursor) {
+}
@@ -0,0 +1,57 @@
+package dataaccess;
+
+import model.GameData;
+import model.GameSummary;
+
+/**
+ * One page of a game listing: games after a cursor, in gameID order, optionally filtered.
+ *
+ * @param afterGameID only games with a larger ID are listed; 0 starts from the first game
+ * @param limit       maximum number of games in the page
+ * @param openSeat    only games with at least one empty seat
+ * @param player      only games this user plays in, or null for any
+ * @param finished    only finished (true) or unfinished (false) games, or null for both
+ */
+public record GameQuery(int afterGameID, int limit, boolean openSeat, String player, Boolean finished) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public GameQuery {
+        if (afterGameID < 0 || limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Invalid game query cursor or limit");
+        }
+    }
+
+    /** The first page of every game. */
+    public static GameQuery firstPage() {
+        return new GameQuery(0, DEFAULT_LIMIT, false, null, null);
+    }
+
+    /**
+     * @return whether the game passes the filters and lies after the cursor
+     */
+    public boolean matches(GameData game) {
+        return matches(GameSummary.of(game), isFinished(game));
+    }
+
+    /**
+     * Same as {@link #matches(GameData)}, for stores that track whether a game is over next to its summary.
+     */
+    public boolean matches(GameSummary game, boolean gameOver) {
+        if (game.gameID() <= afterGameID) {
+            return false;
+        }
+        if (openSeat && game.whiteUsername() != null && game.blackUsername() != null) {
+            return false;
+        }
+        if (player != null && !player.equals(game.whiteUsername()) && !player.equals(game.blackUsername())) {
+            return false;
+        }
+        return finished == null || finished == gameOver;
+    }
+
+    static boolean isFinished(GameData game) {
+        return game.game() != null && game.game().isGameOver();
+    }
+}
@@ -0,0 +1,70 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.GameStateCodec;
+import com.google.gson.JsonParseException;
+import model.GameData;
+
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * How a DAO writes the game state into the {@code gameState} column.
+ * <p>
+ * Reads accept either format whatever the DAO writes, because JSON always starts with '{' and the
+ * Base64 text of the binary form never does. Rows written before the binary format existed keep
+ * working and can be rewritten in place with {@link MySQLGameDAO#migrateGameStates()}.
+ */
+public enum GameStateFormat {
+    /** The {@code @Expose}d fields of {@link ChessGame} as JSON. */
+    JSON {
+        @Override
+        String encodeGame(ChessGame game) {
+            return GameData.toGameState(game);
+        }
+    },
+    /** {@link GameStateCodec} bytes as Base64 text, so the column type can stay TEXT. */
+    BINARY {
+        @Override
+        String encodeGame(ChessGame game) {
+            return Base64.getEncoder().encodeToString(GameStateCodec.encode(game));
+        }
+    };
+
+    abstract String encodeGame(ChessGame game);
+
+    /**
+     * @return the text to store for {@code game}, or null (an empty column) if there is no game
+     */
+    public String encode(ChessGame game) {
+        return (game == null) ? null : encodeGame(game);
+    }
+
+    /**
+     * @return the format a stored game state was written in
+     */
+    public static GameStateFormat of(String stored) {
+        return (stored.startsWith("{")) ? JSON : BINARY;
+    }
+
+    public static ChessGame decode(String stored) throws DataAccessException {
+        if (stored == null) {
+            return null;
+        }
+        try {
+            if (of(stored) == JSON) {
+                return GameData.fromGameState(stored);
+            }
+            return GameStateCodec.decode(Base64.getDecoder().decode(stored));
+        } catch (IllegalArgumentException | JsonParseException e) {
+            throw new DataAccessException("Error: unreadable game state: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses a format name such as the {@code db.gameStateFormat} property, case-insensitively.
+     */
+    public static GameStateFormat parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
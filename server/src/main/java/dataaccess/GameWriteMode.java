@@ -0,0 +1,29 @@
+package dataaccess;
+
+import java.util.Locale;
+
+/**
+ * When {@link WriteBehindGameDAO} writes game updates to the underlying store, from most to least durable.
+ */
+public enum GameWriteMode {
+    /** Every update is written before {@code updateGame} returns. */
+    SYNC,
+    /**
+     * Updates are kept in memory, coalesced per game, and written in one batch when the flush interval
+     * passes or enough games are waiting. A crash can lose up to one interval of moves.
+     */
+    BATCHED,
+    /**
+     * Moves are kept in memory until the game ends. Seat changes and finished games are written at once,
+     * and unfinished games are checkpointed on a long interval or when too many are waiting, so a crash
+     * loses at most one checkpoint interval of moves but never who is playing them.
+     */
+    ON_GAME_END;
+
+    /**
+     * Parses a mode name such as the {@code db.gameWriteMode} property, case-insensitively.
+     */
+    public static GameWriteMode parse(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,530 @@
+package dataaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * An embedded key-value store kept in a single append-only log file; the engine behind the {@code File*DAO}s.
+ * <p>
+ * Every put or delete appends one checksummed record to {@code <name>.log} and points an in-memory index
+ * from the key to that record; reads fetch the record with one positional read. A record torn by a crash
+ * fails its checksum and is cut off the end of the log when the store is opened.
+ * <p>
+ * Overwritten and deleted records stay in the log until compaction copies just the live records into a new
+ * log. Compaction runs on a timer once the log has reached {@code compactMinBytes} and at least half of it is
+ * dead. After each compaction and on close the index is saved to {@code <name>.idx}, which is memory-mapped
+ * on open so only the records appended since then have to be replayed. Both files carry a generation
+ * number, so an index saved for an older log is ignored rather than trusted.
+ * <p>
+ * Writes are handed to the OS, which survives a crash of the server process. With {@code syncWrites} every
+ * write is also forced to disk, which survives power loss at the cost of write latency.
+ */
+public final class LogStore implements AutoCloseable {
+
+    /**
+     * @param keys      live keys
+     * @param logBytes  size of the log file
+     * @param deadBytes bytes of the log taken by overwritten or deleted records
+     */
+    public record Stats(int keys, long logBytes, long deadBytes) {
+    }
+
+    private record Slot(long offset, int size) {
+    }
+
+    private static final long LOG_MAGIC = 0x43484553534C4F47L;   // "CHESSLOG"
+    private static final long INDEX_MAGIC = 0x4348455353494458L; // "CHESSIDX"
+    /** Magic and generation. */
+    private static final int HEADER_BYTES = 16;
+    /** Body length and CRC32 of the body, before every record body. */
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final Path logPath;
+    private final Path indexPath;
+    private final boolean syncWrites;
+    private final long compactMinBytes;
+    private final ScheduledExecutorService compactor;
+
+    // Reads share the lock; appends, compaction and clear take it exclusively
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel log;
+    private long generation;
+    private long end;
+    private long deadBytes;
+    private Map<String, Slot> index = new HashMap<>();
+
+    private LogStore(Path dir, String name, boolean syncWrites, long compactIntervalMillis, long compactMinBytes) {
+        this.logPath = dir.resolve(name + ".log");
+        this.indexPath = dir.resolve(name + ".idx");
+        this.syncWrites = syncWrites;
+        this.compactMinBytes = compactMinBytes;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "log-compactor-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        compactor.scheduleWithFixedDelay(this::compactQuietly, compactIntervalMillis, compactIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens {@code <dir>/<name>.log}, creating it if needed, and loads its index.
+     *
+     * @param compactIntervalMillis how often to check whether the log is worth compacting
+     * @param compactMinBytes       logs smaller than this are never compacted
+     */
+    static LogStore open(Path dir, String name, boolean syncWrites, long compactIntervalMillis,
+                         long compactMinBytes) throws DataAccessException {
+        if (compactIntervalMillis <= 0 || compactMinBytes < 0) {
+            throw new IllegalArgumentException("Invalid data log settings");
+        }
+        LogStore store = new LogStore(dir, name, syncWrites, compactIntervalMillis, compactMinBytes);
+        try {
+            Files.createDirectories(dir);
+            store.load();
+        } catch (IOException e) {
+            store.compactor.shutdownNow();
+            throw new DataAccessException("Error opening data log " + store.logPath + ": " + e.getMessage());
+        } catch (DataAccessException | RuntimeException e) {
+            store.compactor.shutdownNow();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * @return the value stored under {@code key}, or null
+     */
+    public byte[] get(String key) throws DataAccessException {
+        lock.readLock().lock();
+        try {
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return null;
+            }
+            ByteBuffer body = read(log, slot.offset() + RECORD_HEADER_BYTES, slot.size() - RECORD_HEADER_BYTES);
+            body.get();
+            int keyLength = body.getInt();
+            body.position(body.position() + keyLength);
+            byte[] value = new byte[body.remaining()];
+            body.get(value);
+            return value;
+        } catch (IOException e) {
+            throw new DataAccessException("Error reading data log: " + e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return every live key, in no particular order
+     */
+    public List<String> keys() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(index.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(String key, byte[] value) throws DataAccessException {
+        putAll(Map.of(key, value));
+    }
+
+    /**
+     * Appends all the values with one write.
+     */
+    public void putAll(Map<String, byte[]> values) throws DataAccessException {
+        if (values.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<ByteBuffer> records = new ArrayList<>(values.size());
+            for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+                records.add(record(PUT, entry.getKey(), entry.getValue()));
+            }
+            long offset = append(records);
+            int i = 0;
+            for (String key : values.keySet()) {
+                int size = records.get(i++).limit();
+                Slot old = index.put(key, new Slot(offset, size));
+                if (old != null) {
+                    deadBytes += old.size();
+                }
+                offset += size;
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Error writing data log: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stores the value only if the key is not present yet.
+     *
+     * @return false if the key already had a value
+     */
+    public boolean insert(String key, byte[] value) throws DataAccessException {
+        lock.writeLock().lock();
+        try {
+            if (index.containsKey(key)) {
+                return false;
+            }
+            put(key, value);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void delete(String key) throws DataAccessException {
+        lock.writeLock().lock();
+        try {
+            Slot old = index.get(key);
+            if (old == null) {
+                return;
+            }
+            ByteBuffer record = record(DELETE, key, new byte[0]);
+            append(List.of(record));
+            index.remove(key);
+            // Once compacted away the tombstone is not needed either
+            deadBytes += old.size() + record.limit();
+        } catch (IOException e) {
+            throw new DataAccessException("Error writing data log: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empties the store by starting a new, empty log generation.
+     */
+    public void clear() throws DataAccessException {
+        lock.writeLock().lock();
+        try {
+            log.truncate(0);
+            generation++;
+            writeHeader(log, generation);
+            end = HEADER_BYTES;
+            index = new HashMap<>();
+            deadBytes = 0;
+            Files.deleteIfExists(indexPath);
+        } catch (IOException e) {
+            throw new DataAccessException("Error clearing data log: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with only its live records and saves the index for the new log.
+     */
+    public void compact() throws DataAccessException {
+        lock.writeLock().lock();
+        try {
+            Path compacted = logPath.resolveSibling(logPath.getFileName() + ".compact");
+            Map<String, Slot> newIndex = new HashMap<>(index.size() * 2);
+            long newGeneration = generation + 1;
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeHeader(out, newGeneration);
+                long offset = HEADER_BYTES;
+                for (Map.Entry<String, Slot> entry : index.entrySet()) {
+                    Slot slot = entry.getValue();
+                    ByteBuffer record = read(log, slot.offset(), slot.size());
+                    while (record.hasRemaining()) {
+                        out.write(record, offset + record.position());
+                    }
+                    newIndex.put(entry.getKey(), new Slot(offset, slot.size()));
+                    offset += slot.size();
+                }
+                out.force(true);
+            }
+            log.close();
+            Files.move(compacted, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            generation = newGeneration;
+            end = log.size();
+            index = newIndex;
+            deadBytes = 0;
+            saveIndex();
+        } catch (IOException e) {
+            reopenAfterFailedCompaction();
+            throw new DataAccessException("Error compacting data log: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The old log is closed just before it is replaced; if the replacement failed, keep using it.
+     * Caller holds the write lock.
+     */
+    private void reopenAfterFailedCompaction() {
+        if (log.isOpen()) {
+            return;
+        }
+        try {
+            log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            System.err.println("Failed to reopen data log " + logPath + ": " + e.getMessage());
+        }
+    }
+
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            return new Stats(index.size(), end, deadBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops the compaction timer, saves the index and closes the log.
+     */
+    @Override
+    public void close() throws DataAccessException {
+        compactor.shutdownNow();
+        lock.writeLock().lock();
+        try {
+            if (!log.isOpen()) {
+                return;
+            }
+            log.force(true);
+            saveIndex();
+            log.close();
+        } catch (IOException e) {
+            throw new DataAccessException("Error closing data log: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws IOException, DataAccessException {
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (log.size() < HEADER_BYTES) {
+            log.truncate(0);
+            generation = 1;
+            writeHeader(log, generation);
+        } else {
+            ByteBuffer header = read(log, 0, HEADER_BYTES);
+            if (header.getLong() != LOG_MAGIC) {
+                log.close();
+                throw new DataAccessException("Error: " + logPath + " is not a data log");
+            }
+            generation = header.getLong();
+        }
+        long replayFrom = loadIndex();
+        end = replay(replayFrom);
+    }
+
+    /**
+     * Loads the saved index if it belongs to this log.
+     *
+     * @return the log offset the index covers, from which the rest of the log must be replayed
+     */
+    private long loadIndex() {
+        if (!Files.exists(indexPath)) {
+            return HEADER_BYTES;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getLong() != INDEX_MAGIC || buffer.getLong() != generation) {
+                return HEADER_BYTES;
+            }
+            long covered = buffer.getLong();
+            long dead = buffer.getLong();
+            int count = buffer.getInt();
+            if (covered < HEADER_BYTES || covered > log.size()) {
+                return HEADER_BYTES;
+            }
+            Map<String, Slot> loaded = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                loaded.put(new String(key, StandardCharsets.UTF_8), new Slot(buffer.getLong(), buffer.getInt()));
+            }
+            index = loaded;
+            deadBytes = dead;
+            return covered;
+        } catch (IOException | RuntimeException e) {
+            // The index only saves replay time; a damaged one is rebuilt from the log
+            System.err.println("Ignoring unreadable index " + indexPath + ": " + e.getMessage());
+            index = new HashMap<>();
+            deadBytes = 0;
+            return HEADER_BYTES;
+        }
+    }
+
+    /**
+     * Applies the records from {@code offset} to the end of the log, cutting off a torn or corrupt tail.
+     *
+     * @return the end of the last good record
+     */
+    private long replay(long offset) throws IOException {
+        long size = log.size();
+        CRC32 crc = new CRC32();
+        while (offset + RECORD_HEADER_BYTES <= size) {
+            ByteBuffer header = read(log, offset, RECORD_HEADER_BYTES);
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 5 || offset + RECORD_HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer body = read(log, offset + RECORD_HEADER_BYTES, length);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            byte op = body.get();
+            int keyLength = body.getInt();
+            if (keyLength < 0 || keyLength > body.remaining()) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            body.get(key);
+            int recordSize = RECORD_HEADER_BYTES + length;
+            Slot old = (op == PUT)
+                    ? index.put(new String(key, StandardCharsets.UTF_8), new Slot(offset, recordSize))
+                    : index.remove(new String(key, StandardCharsets.UTF_8));
+            if (old != null) {
+                deadBytes += old.size();
+            }
+            if (op == DELETE) {
+                deadBytes += recordSize;
+            }
+            offset += recordSize;
+        }
+        if (offset < size) {
+            System.err.println("Truncating " + (size - offset) + " unreadable bytes at the end of " + logPath);
+            log.truncate(offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Writes the index for the current log next to it. Caller holds the write lock.
+     */
+    private void saveIndex() {
+        Path saved = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        List<byte[]> keys = new ArrayList<>(index.size());
+        long size = 8 * 4 + 4;
+        for (String key : index.keySet()) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            keys.add(bytes);
+            size += 4 + bytes.length + 8 + 4;
+        }
+        try {
+            try (FileChannel channel = FileChannel.open(saved, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putLong(INDEX_MAGIC).putLong(generation).putLong(end).putLong(deadBytes).putInt(index.size());
+                int i = 0;
+                for (Slot slot : index.values()) {
+                    byte[] key = keys.get(i++);
+                    buffer.putInt(key.length).put(key).putLong(slot.offset()).putInt(slot.size());
+                }
+                buffer.force();
+            }
+            Files.move(saved, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Not fatal: the next open replays the log instead
+            System.err.println("Failed to save index " + indexPath + ": " + e.getMessage());
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            boolean worthIt;
+            lock.readLock().lock();
+            try {
+                worthIt = end >= compactMinBytes && deadBytes * 2 >= end - HEADER_BYTES && deadBytes > 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (worthIt) {
+                compact();
+            }
+        } catch (DataAccessException | RuntimeException e) {
+            System.err.println("Data log compaction failed, will retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends whole records at the end of the log. Caller holds the write lock.
+     *
+     * @return offset of the first record
+     */
+    private long append(List<ByteBuffer> records) throws IOException {
+        long offset = end;
+        ByteBuffer[] buffers = records.stream().map(ByteBuffer::duplicate).toArray(ByteBuffer[]::new);
+        long total = 0;
+        for (ByteBuffer buffer : buffers) {
+            total += buffer.remaining();
+        }
+        log.position(offset);
+        long written = 0;
+        while (written < total) {
+            written += log.write(buffers);
+        }
+        if (syncWrites) {
+            log.force(false);
+        }
+        end = offset + total;
+        return offset;
+    }
+
+    private static ByteBuffer record(byte op, String key, byte[] value) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + keyBytes.length + value.length;
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + length);
+        record.position(RECORD_HEADER_BYTES);
+        record.put(op).putInt(keyBytes.length).put(keyBytes).put(value);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), RECORD_HEADER_BYTES, length);
+        record.putInt(0, length).putInt(4, (int) crc.getValue());
+        return record.flip();
+    }
+
+    private static void writeHeader(FileChannel channel, long generation) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putLong(LOG_MAGIC).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        channel.force(true);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of data log");
+            }
+        }
+        return buffer.flip();
+    }
+}
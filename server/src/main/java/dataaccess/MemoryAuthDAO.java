@@ -1,11 +1,14 @@
 package dataaccess;
 
 import model.AuthData;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Thread-safe in-memory auth token store.
+ */
 public class MemoryAuthDAO implements AuthDAO {
-    private final Map<String, AuthData> authTokens = new HashMap<>();
+    private final Map<String, AuthData> authTokens = new ConcurrentHashMap<>();
 
     @Override
     public void createAuth(AuthData auth) throws DataAccessException {
@@ -14,12 +17,14 @@ public class MemoryAuthDAO implements AuthDAO {
 
     @Override
     public AuthData getAuth(String authToken) throws DataAccessException {
-        return authTokens.get(authToken);
+        return (authToken == null) ? null : authTokens.get(authToken);
     }
 
     @Override
     public void deleteAuth(String authToken) throws DataAccessException {
-        authTokens.remove(authToken);
+        if (authToken != null) {
+            authTokens.remove(authToken);
+        }
     }
 
     @Override
@@ -1,43 +1,92 @@
 package dataaccess;
 
 import model.GameData;
-import java.util.HashMap;
+import model.GameSummary;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Thread-safe in-memory game store, for tests and single-node servers running without MySQL.
+ * <p>
+ * Games are kept in a concurrent map sorted by gameID, so requests on different games do not block each
+ * other and listings come out in gameID order, seeking straight to a page cursor. The store keeps its own
+ * copy of each game and every read returns a fresh copy, so, as with rows read from MySQL, callers may
+ * change what they get back without affecting the store or each other.
+ */
 public class MemoryGameDAO implements GameDAO {
-    private final Map<Integer, GameData> games = new HashMap<>();
-    private int nextGameID = 1;
+    private final ConcurrentNavigableMap<Integer, GameData> games = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextGameID = new AtomicInteger(1);
 
     @Override
     public int createGame(GameData game) throws DataAccessException {
-        game = new GameData(nextGameID++, game.whiteUsername(), game.blackUsername(), game.gameName(), game.game());
-        games.put(game.gameID(), game);
-        return game.gameID();
+        if (game == null) {
+            throw new DataAccessException("GameData cannot be null");
+        }
+        int gameID = nextGameID.getAndIncrement();
+        games.put(gameID, copy(new GameData(gameID, game.whiteUsername(), game.blackUsername(), game.gameName(),
+                game.game())));
+        return gameID;
     }
 
     @Override
     public GameData getGame(int gameID) throws DataAccessException {
-        return games.get(gameID);
+        return copy(games.get(gameID));
     }
 
     @Override
     public List<GameData> listGames() throws DataAccessException {
-        return new ArrayList<>(games.values());
+        List<GameData> list = new ArrayList<>();
+        for (GameData game : games.values()) {
+            list.add(copy(game));
+        }
+        return list;
+    }
+
+    @Override
+    public List<GameSummary> listGameSummaries() throws DataAccessException {
+        List<GameSummary> list = new ArrayList<>();
+        for (GameData game : games.values()) {
+            list.add(GameSummary.of(game));
+        }
+        return list;
+    }
+
+    @Override
+    public GamePage listGameSummaries(GameQuery query) throws DataAccessException {
+        List<GameSummary> page = new ArrayList<>();
+        for (GameData game : games.tailMap(query.afterGameID(), false).values()) {
+            if (!query.matches(game)) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                return new GamePage(page, page.get(page.size() - 1).gameID());
+            }
+            page.add(GameSummary.of(game));
+        }
+        return new GamePage(page, null);
     }
 
     @Override
     public void updateGame(GameData game) throws DataAccessException {
-        if (!games.containsKey(game.gameID())) {
+        if (games.replace(game.gameID(), copy(game)) == null) {
             throw new DataAccessException("Error: game not found");
         }
-        games.put(game.gameID(), game);
     }
 
     @Override
     public void clear() throws DataAccessException {
         games.clear();
-        nextGameID = 1;
+        nextGameID.set(1);
+    }
+
+    private static GameData copy(GameData game) {
+        if (game == null || game.game() == null) {
+            return game;
+        }
+        return new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName(),
+                game.game().copy());
     }
 }
@@ -1,18 +1,25 @@
 package dataaccess;
 
 import model.UserData;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mindrot.jbcrypt.BCrypt;
 
+/**
+ * Thread-safe in-memory user store. Registering a name is a single atomic insert, so two concurrent
+ * registrations of the same name cannot both succeed. Like {@link MySQLUserDAO}, it stores the BCrypt
+ * hash of the password, which is what login checks against.
+ */
 public class MemoryUserDAO implements UserDAO {
-    private final Map<String, UserData> users = new HashMap<>();
+    private final Map<String, UserData> users = new ConcurrentHashMap<>();
 
     @Override
     public void insertUser(UserData user) throws DataAccessException {
-        if (users.containsKey(user.username())) {
+        String hashedPassword = BCrypt.hashpw(user.password(), BCrypt.gensalt());
+        UserData stored = new UserData(user.username(), hashedPassword, user.email());
+        if (users.putIfAbsent(user.username(), stored) != null) {
             throw new DataAccessException("Error: username already taken");
         }
-        users.put(user.username(), user);
     }
 
     @Override
@@ -24,4 +31,4 @@ public class MemoryUserDAO implements UserDAO {
     public void clear() throws DataAccessException {
         users.clear();
     }
-}
\ No newline at end of file
+}
@@ -1,27 +1,44 @@
 package dataaccess;
 
 import model.GameData;
+import model.GameSummary;
 import chess.ChessGame;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import com.google.gson.Gson;
 
 public class MySQLGameDAO implements GameDAO {
+    private static final String UPDATE_SQL =
+            "UPDATE games SET whiteUsername = ?, blackUsername = ?, gameName = ?, gameState = ?, gameOver = ? WHERE gameID = ?";
+
+    private final GameStateFormat format;
+
+    public MySQLGameDAO() {
+        this(DatabaseManager.gameStateFormat());
+    }
+
+    /**
+     * @param format how game states are written; either format is read back
+     */
+    public MySQLGameDAO(GameStateFormat format) {
+        this.format = format;
+    }
 
     @Override
     public int createGame(GameData game) throws DataAccessException {
         if (game == null){
             throw new DataAccessException("GameData cannot be null");
         }
-        String sql = "INSERT INTO games (whiteUsername, blackUsername, gameName, gameState) VALUES (?, ?, ?, ?)";
+        String sql = "INSERT INTO games (whiteUsername, blackUsername, gameName, gameState, gameOver) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, game.whiteUsername());
             stmt.setString(2, game.blackUsername());
             stmt.setString(3, game.gameName());
-            stmt.setString(4, game.gameState());
+            stmt.setString(4, format.encode(game.game()));
+            stmt.setBoolean(5, GameQuery.isFinished(game));
 
             stmt.executeUpdate();
 
@@ -51,9 +68,7 @@ public class MySQLGameDAO implements GameDAO {
                 String whiteUsername = rs.getString("whiteUsername");
                 String blackUsername = rs.getString("blackUsername");
                 String gameName = rs.getString("gameName");
-                String gameStateJson = rs.getString("gameState");
-
-                ChessGame game = GameData.fromGameState(gameStateJson); // JSON → ChessGame 변환
+                ChessGame game = GameStateFormat.decode(rs.getString("gameState")); // JSON/binary → ChessGame 변환
 
                 return new GameData(gameID, whiteUsername, blackUsername, gameName, game);
             }
@@ -79,9 +94,7 @@ public class MySQLGameDAO implements GameDAO {
                 String whiteUsername = rs.getString("whiteUsername");
                 String blackUsername = rs.getString("blackUsername");
                 String gameName = rs.getString("gameName");
-                String gameStateJson = rs.getString("gameState");
-
-                ChessGame game = GameData.fromGameState(gameStateJson); // JSON → ChessGame 변환
+                ChessGame game = GameStateFormat.decode(rs.getString("gameState")); // JSON/binary → ChessGame 변환
                 games.add(new GameData(gameID, whiteUsername, blackUsername, gameName, game));
             }
 
@@ -92,18 +105,36 @@ public class MySQLGameDAO implements GameDAO {
         return games;
     }
 
+    /**
+     * Selects only the metadata columns, so listing never reads or decodes a game state.
+     */
     @Override
-    public void updateGame(GameData game) throws DataAccessException {
-        String sql = "UPDATE games SET whiteUsername = ?, blackUsername = ?, gameName = ?, gameState = ? WHERE gameID = ?";
+    public List<GameSummary> listGameSummaries() throws DataAccessException {
+        String sql = "SELECT gameID, whiteUsername, blackUsername, gameName FROM games";
+        List<GameSummary> games = new ArrayList<>();
+
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
 
-            stmt.setString(1, game.whiteUsername());
-            stmt.setString(2, game.blackUsername());
-            stmt.setString(3, game.gameName());
-            stmt.setString(4, game.gameState());
-            stmt.setInt(5, game.gameID());
+            while (rs.next()) {
+                games.add(new GameSummary(rs.getInt("gameID"), rs.getString("whiteUsername"),
+                        rs.getString("blackUsername"), rs.getString("gameName")));
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error listing games: " + e.getMessage());
+        }
+
+        return games;
+    }
 
+    @Override
+    public void updateGame(GameData game) throws DataAccessException {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+
+            bindUpdate(stmt, game);
             stmt.executeUpdate();
 
         } catch (SQLException e) {
@@ -111,6 +142,133 @@ public class MySQLGameDAO implements GameDAO {
         }
     }
 
+    /**
+     * Writes all the games with one batched statement in a single transaction.
+     */
+    @Override
+    public void updateGames(Collection<GameData> games) throws DataAccessException {
+        if (games.isEmpty()) {
+            return;
+        }
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+                for (GameData game : games) {
+                    bindUpdate(stmt, game);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error updating games: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Seeks to the cursor on the primary key and filters on indexed columns, so a page costs the same
+     * however many games exist. One extra row is read to tell whether another page follows.
+     */
+    @Override
+    public GamePage listGameSummaries(GameQuery query) throws DataAccessException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT gameID, whiteUsername, blackUsername, gameName FROM games WHERE gameID > ?");
+        if (query.openSeat()) {
+            sql.append(" AND (whiteUsername IS NULL OR blackUsername IS NULL)");
+        }
+        if (query.player() != null) {
+            sql.append(" AND (whiteUsername = ? OR blackUsername = ?)");
+        }
+        if (query.finished() != null) {
+            sql.append(" AND gameOver = ?");
+        }
+        sql.append(" ORDER BY gameID LIMIT ?");
+
+        List<GameSummary> games = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            int i = 1;
+            stmt.setInt(i++, query.afterGameID());
+            if (query.player() != null) {
+                stmt.setString(i++, query.player());
+                stmt.setString(i++, query.player());
+            }
+            if (query.finished() != null) {
+                stmt.setBoolean(i++, query.finished());
+            }
+            stmt.setInt(i, query.limit() + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    games.add(new GameSummary(rs.getInt("gameID"), rs.getString("whiteUsername"),
+                            rs.getString("blackUsername"), rs.getString("gameName")));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error listing games: " + e.getMessage());
+        }
+
+        if (games.size() <= query.limit()) {
+            return new GamePage(games, null);
+        }
+        games.remove(games.size() - 1);
+        return new GamePage(games, games.get(games.size() - 1).gameID());
+    }
+
+    /**
+     * Rewrites every stored game state that is not yet in this DAO's format, e.g. JSON rows written
+     * before the binary format existed. Only rows in the other format are selected (JSON always starts
+     * with '{'), so once the rows are migrated a startup reads nothing back. The rewrite is one
+     * transaction: a row that cannot be decoded leaves every row as it was.
+     *
+     * @return the number of rows rewritten
+     */
+    public int migrateGameStates() throws DataAccessException {
+        String select = "SELECT gameID, gameState FROM games WHERE gameState "
+                + (format == GameStateFormat.JSON ? "NOT LIKE" : "LIKE") + " '{%'";
+        String update = "UPDATE games SET gameState = ? WHERE gameID = ?";
+        int migrated = 0;
+        try (Connection conn = DatabaseManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement query = conn.prepareStatement(select);
+                 PreparedStatement stmt = conn.prepareStatement(update);
+                 ResultSet rs = query.executeQuery()) {
+
+                while (rs.next()) {
+                    ChessGame game = GameStateFormat.decode(rs.getString("gameState"));
+                    stmt.setString(1, format.encode(game));
+                    stmt.setInt(2, rs.getInt("gameID"));
+                    stmt.addBatch();
+                    migrated++;
+                }
+                if (migrated > 0) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException | DataAccessException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error migrating game states: " + e.getMessage());
+        }
+        return migrated;
+    }
+
+    private void bindUpdate(PreparedStatement stmt, GameData game) throws SQLException {
+        stmt.setString(1, game.whiteUsername());
+        stmt.setString(2, game.blackUsername());
+        stmt.setString(3, game.gameName());
+        stmt.setString(4, format.encode(game.game()));
+        stmt.setBoolean(5, GameQuery.isFinished(game));
+        stmt.setInt(6, game.gameID());
+    }
+
     @Override
     public void clear() throws DataAccessException {
         String sql = "DELETE FROM games";
@@ -0,0 +1,316 @@
+package dataaccess;
+
+import model.GameData;
+import model.GameSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link GameDAO} that buffers game updates in memory and writes them to another DAO later, according
+ * to a {@link GameWriteMode}.
+ * <p>
+ * Only the latest update of each game is kept, so a game that moves twenty times between flushes costs
+ * one write. Waiting updates are written together through {@link GameDAO#updateGames}, which for MySQL is
+ * a single JDBC batch. Reads through this DAO see waiting updates, so callers always read their own writes.
+ * Flushes and write-throughs are serialized, so an older batch never lands after a newer update of the same game.
+ */
+public class WriteBehindGameDAO implements GameDAO, AutoCloseable {
+
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 250;
+    /** Default flush interval in {@link GameWriteMode#ON_GAME_END} mode, a checkpoint for long games. */
+    public static final long DEFAULT_CHECKPOINT_INTERVAL_MILLIS = 60_000;
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private final GameDAO delegate;
+    private final GameWriteMode mode;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+
+    // guarded by this
+    private final Map<Integer, GameData> pending = new LinkedHashMap<>();
+    // guarded by this; updates taken out of pending whose write has not finished yet
+    private final Map<Integer, GameData> inFlight = new HashMap<>();
+    // held while writing to the delegate
+    private final Object writeLock = new Object();
+    // ON_GAME_END: players last written for each game, to spot seat changes
+    private final Map<Integer, List<String>> writtenSeats = new ConcurrentHashMap<>();
+
+    public WriteBehindGameDAO(GameDAO delegate, GameWriteMode mode) {
+        this(delegate, mode, defaultFlushInterval(mode), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param flushIntervalMillis how often waiting updates are written; unused in {@link GameWriteMode#SYNC} mode
+     * @param batchSize           number of waiting games that triggers an immediate flush, which also caps
+     *                            how many unwritten games are held in memory
+     */
+    public WriteBehindGameDAO(GameDAO delegate, GameWriteMode mode, long flushIntervalMillis, int batchSize) {
+        if (flushIntervalMillis <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Flush interval and batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        if (mode != GameWriteMode.SYNC) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * @return the flush interval to use for {@code mode} when none is configured
+     */
+    public static long defaultFlushInterval(GameWriteMode mode) {
+        return (mode == GameWriteMode.ON_GAME_END) ? DEFAULT_CHECKPOINT_INTERVAL_MILLIS : DEFAULT_FLUSH_INTERVAL_MILLIS;
+    }
+
+    public GameWriteMode mode() {
+        return mode;
+    }
+
+    @Override
+    public int createGame(GameData game) throws DataAccessException {
+        return delegate.createGame(game);
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        synchronized (this) {
+            GameData waiting = unsaved(gameID);
+            if (waiting != null) {
+                return waiting;
+            }
+        }
+        return delegate.getGame(gameID);
+    }
+
+    @Override
+    public List<GameData> listGames() throws DataAccessException {
+        // Taken before the read: an update missing here was already written when the read starts
+        Map<Integer, GameData> waiting = unsaved();
+        List<GameData> games = delegate.listGames();
+        if (waiting.isEmpty()) {
+            return games;
+        }
+        List<GameData> merged = new ArrayList<>(games.size());
+        for (GameData game : games) {
+            merged.add(waiting.getOrDefault(game.gameID(), game));
+        }
+        return merged;
+    }
+
+    @Override
+    public List<GameSummary> listGameSummaries() throws DataAccessException {
+        Map<Integer, GameData> waiting = unsaved();
+        List<GameSummary> games = delegate.listGameSummaries();
+        if (waiting.isEmpty()) {
+            return games;
+        }
+        List<GameSummary> merged = new ArrayList<>(games.size());
+        for (GameSummary game : games) {
+            GameData update = waiting.get(game.gameID());
+            merged.add((update == null) ? game : GameSummary.of(update));
+        }
+        return merged;
+    }
+
+    /**
+     * A waiting update can move a game into or out of the filter, so waiting games are matched here
+     * rather than trusting the stored row.
+     */
+    @Override
+    public GamePage listGameSummaries(GameQuery query) throws DataAccessException {
+        Map<Integer, GameData> waiting = unsaved();
+        GamePage page = delegate.listGameSummaries(query);
+        if (waiting.isEmpty()) {
+            return page;
+        }
+        TreeMap<Integer, GameSummary> merged = new TreeMap<>();
+        for (GameSummary game : page.games()) {
+            if (!waiting.containsKey(game.gameID())) {
+                merged.put(game.gameID(), game);
+            }
+        }
+        // Games past the end of a full page belong to later pages
+        Integer end = page.nextCursor();
+        for (GameData game : waiting.values()) {
+            if (query.matches(game) && (end == null || game.gameID() <= end)) {
+                merged.put(game.gameID(), GameSummary.of(game));
+            }
+        }
+        List<GameSummary> games = new ArrayList<>(merged.values());
+        if (games.size() <= query.limit()) {
+            return new GamePage(games, end);
+        }
+        games = new ArrayList<>(games.subList(0, query.limit()));
+        return new GamePage(games, games.get(games.size() - 1).gameID());
+    }
+
+    @Override
+    public void updateGame(GameData game) throws DataAccessException {
+        switch (mode) {
+            case SYNC -> writeThrough(game);
+            case BATCHED -> enqueue(game);
+            case ON_GAME_END -> {
+                boolean over = game.game() == null || game.game().isGameOver();
+                if (over || !seats(game).equals(writtenSeats.get(game.gameID()))) {
+                    updateGameNow(game);
+                } else {
+                    enqueue(game);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the game to the underlying DAO before returning, whatever the mode, replacing any waiting
+     * update of the same game.
+     */
+    @Override
+    public void updateGameNow(GameData game) throws DataAccessException {
+        writeThrough(game);
+        if (mode == GameWriteMode.ON_GAME_END) {
+            if (game.game() == null || game.game().isGameOver()) {
+                writtenSeats.remove(game.gameID());
+            } else {
+                writtenSeats.put(game.gameID(), seats(game));
+            }
+        }
+    }
+
+    private void enqueue(GameData game) throws DataAccessException {
+        boolean full;
+        synchronized (this) {
+            pending.put(game.gameID(), game);
+            full = pending.size() >= batchSize;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes every waiting update to the underlying DAO. If the write fails the updates are kept
+     * (unless a newer one arrived meanwhile) and retried on the next flush.
+     */
+    public void flush() throws DataAccessException {
+        synchronized (writeLock) {
+            List<GameData> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                inFlight.putAll(pending);
+                pending.clear();
+            }
+            try {
+                delegate.updateGames(batch);
+            } catch (DataAccessException e) {
+                synchronized (this) {
+                    for (GameData game : batch) {
+                        pending.putIfAbsent(game.gameID(), game);
+                    }
+                }
+                throw e;
+            } finally {
+                synchronized (this) {
+                    inFlight.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of games with an update that has not been written yet
+     */
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.clear();
+                inFlight.clear();
+            }
+            writtenSeats.clear();
+            delegate.clear();
+        }
+    }
+
+    /**
+     * Stops the flush timer and writes everything still waiting.
+     */
+    @Override
+    public void close() throws DataAccessException {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    private void writeThrough(GameData game) throws DataAccessException {
+        synchronized (writeLock) {
+            synchronized (this) {
+                pending.remove(game.gameID());
+                inFlight.put(game.gameID(), game);
+            }
+            try {
+                delegate.updateGame(game);
+            } finally {
+                synchronized (this) {
+                    inFlight.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the newest update of a game not yet written, or null. Caller holds this.
+     */
+    private GameData unsaved(int gameID) {
+        GameData waiting = pending.get(gameID);
+        return (waiting != null) ? waiting : inFlight.get(gameID);
+    }
+
+    private synchronized Map<Integer, GameData> unsaved() {
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, GameData> waiting = new HashMap<>(inFlight);
+        waiting.putAll(pending);
+        return waiting;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DataAccessException | RuntimeException e) {
+            // 실패한 업데이트는 남겨 두었다가 다음 flush에서 다시 저장
+            e.printStackTrace();
+        }
+    }
+
+    private static List<String> seats(GameData game) {
+        return Arrays.asList(game.whiteUsername(), game.blackUsername());
+    }
+}
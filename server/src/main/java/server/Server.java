@@ -2,39 +2,89 @@ package server;
 
 import dataaccess.*;
 import service.ClearService;
+import service.GameActors;
 import service.GameService;
 import service.UserService;
 import server.handlers.ClearHandler;
 import server.handlers.GameHandler;
 import server.handlers.UserHandler;
 import spark.Spark;
+import websocket.SlowConsumerPolicy;
 import websocket.WebSocketCommunicator;
 import websocket.WebSocketHandler;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Server {
+    private GameActors gameActors;
+    private WriteBehindGameDAO gameDAO;
+    private final List<LogStore> logStores = new ArrayList<>();
+
     public int run(int desiredPort) {
         Spark.port(desiredPort);
         Spark.webSocket("/ws", WebSocketHandler.class);
         Spark.staticFiles.location("web");
 
-        DatabaseManager.initializeDatabase();
+        // DAO 객체 생성 (db.store에 따라 MySQL, 메모리 또는 로그 파일)
+        UserDAO userDAO;
+        AuthDAO authDAO;
+        if (DatabaseManager.dataStore() == DataStore.MEMORY) {
+            // MySQL 없이 이 프로세스 메모리에만 저장 (서버를 멈추면 사라짐), 쓰기를 모아둘 필요 없음
+            userDAO = new MemoryUserDAO();
+            authDAO = new MemoryAuthDAO();
+            gameDAO = new WriteBehindGameDAO(new MemoryGameDAO(), GameWriteMode.SYNC);
+        } else if (DatabaseManager.dataStore() == DataStore.FILE) {
+            // MySQL 없이 db.file.dir 아래의 로그 파일에 저장 (서버를 멈추면 닫음)
+            try {
+                userDAO = new FileUserDAO(openLogStore("users"));
+                authDAO = new FileAuthDAO(openLogStore("auth"));
+                gameDAO = DatabaseManager.writeBehind(new FileGameDAO(openLogStore("games")));
+            } catch (DataAccessException e) {
+                closeLogStores();
+                throw new RuntimeException("Failed to open data files: " + e.getMessage());
+            }
+        } else {
+            DatabaseManager.initializeDatabase();
+
+            userDAO = new MySQLUserDAO();
+            var mySQLGameDAO = new MySQLGameDAO();
+            // 모든 요청이 authToken을 확인하므로 조회 결과를 캐시
+            authDAO = DatabaseManager.cachingAuth(new MySQLAuthDAO());
+
+            // 기존 게임 상태를 설정된 저장 형식으로 변환
+            try {
+                int migrated = mySQLGameDAO.migrateGameStates();
+                if (migrated > 0) {
+                    System.out.println("Migrated " + migrated + " game states to " + DatabaseManager.gameStateFormat());
+                }
+            } catch (DataAccessException e) {
+                System.err.println("Game state migration failed: " + e.getMessage());
+            }
 
-        // DAO 객체 생성
-        var userDAO = new MySQLUserDAO();
-        var gameDAO = new MySQLGameDAO();
-        var authDAO = new MySQLAuthDAO();
+            // 게임 상태 쓰기는 db.gameWriteMode에 따라 모아서 / 게임 종료 시 DB에 반영
+            gameDAO = DatabaseManager.writeBehind(mySQLGameDAO);
+        }
 
         // Service 객체 생성
-        var clearService = new ClearService(userDAO, gameDAO, authDAO);
+        // 진행 중인 게임 상태는 게임별 actor가 메모리에 보관 (초기화 시 함께 비움)
+        gameActors = new GameActors(gameDAO);
+        var clearService = new ClearService(userDAO, gameDAO, authDAO, gameActors);
         var userService = new UserService(userDAO, authDAO);
-        var gameService = new GameService(gameDAO, authDAO);
+        var gameService = new GameService(gameDAO, authDAO, gameActors);
 
         // Handler 객체 생성
         var clearHandler = new ClearHandler(clearService);
         var userHandler = new UserHandler(userService);
         var gameHandler = new GameHandler(gameService);
 
-        var communicator = new WebSocketCommunicator(gameDAO, authDAO);
+        // 느린 WebSocket 클라이언트 처리: -Dchess.ws.queueCapacity=64 -Dchess.ws.slowConsumerPolicy=COALESCE
+        int queueCapacity = Integer.getInteger("chess.ws.queueCapacity", WebSocketCommunicator.DEFAULT_QUEUE_CAPACITY);
+        String policyName = System.getProperty("chess.ws.slowConsumerPolicy");
+        SlowConsumerPolicy slowConsumerPolicy = (policyName == null)
+                ? WebSocketCommunicator.DEFAULT_SLOW_CONSUMER_POLICY
+                : SlowConsumerPolicy.parse(policyName);
+        var communicator = new WebSocketCommunicator(gameDAO, authDAO, queueCapacity, slowConsumerPolicy);
         WebSocketHandler.init(gameService, communicator);
 
         // endpoint
@@ -55,5 +105,40 @@ public class Server {
     public void stop() {
         Spark.stop();
         Spark.awaitStop();
+        if (gameActors != null) {
+            // 아직 저장되지 않은 게임 상태를 저장
+            try {
+                gameActors.close();
+            } catch (DataAccessException e) {
+                System.err.println("Failed to save game states on shutdown: " + e.getMessage());
+            }
+        }
+        if (gameDAO != null) {
+            try {
+                gameDAO.close();
+            } catch (DataAccessException e) {
+                e.printStackTrace();
+            }
+        }
+        // 게임 상태를 모두 쓴 뒤에 커넥션 풀 종료
+        DatabaseManager.closePool();
+        closeLogStores();
+    }
+
+    private LogStore openLogStore(String name) throws DataAccessException {
+        LogStore store = DatabaseManager.openLogStore(name);
+        logStores.add(store);
+        return store;
+    }
+
+    private void closeLogStores() {
+        for (LogStore store : logStores) {
+            try {
+                store.close();
+            } catch (DataAccessException e) {
+                System.err.println("Failed to close data file: " + e.getMessage());
+            }
+        }
+        logStores.clear();
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package server.handlers;
 
+import chess.Fen;
 import com.google.gson.Gson;
 import dataaccess.DataAccessException;
+import dataaccess.GamePage;
+import dataaccess.GameQuery;
 import model.GameData;
 import service.GameService;
 import spark.Request;
@@ -21,24 +24,48 @@ public class GameHandler {
         this.gameService = gameService;
     }
 
-    /** ✅ 게임 리스트 반환 */
+    /**
+     * ✅ 게임 리스트 반환. 기본값은 게임 상태 없이 ID, 이름, 플레이어만 (게임 상태는 GET /game/:gameID로 읽음).
+     * gameID 순으로 한 페이지씩 응답하며, 다음 페이지가 있으면 nextCursor를 ?after= 로 넘기면 됨.
+     * 필터: ?limit=, ?open=true (빈 자리 있는 게임), ?player=username, ?finished=true|false.
+     * ?format=fen 또는 ?format=game 이면 예전처럼 게임 상태까지 포함한 전체 목록
+     */
     public Route listGames() {
         return (Request req, Response res) -> {
             try {
                 String authToken = req.headers("authorization");
-                System.out.println("Auth Token received: " + authToken); // ✅ 디버깅용 출력
 
                 if (authToken == null || authToken.isEmpty()) {
                     res.status(401);
                     return gson.toJson(Map.of("message", "Error: unauthorized"));
                 }
 
-                List<GameData> games = gameService.listGames(authToken);
-
-                res.status(200);
                 Map<String, Object> response = new HashMap<>();
-                response.put("games", games);
+                if (wantsFen(req)) {
+                    List<GameData> games = gameService.listGames(authToken);
+                    List<FenGameData> fenGames = new ArrayList<>(games.size());
+                    for (GameData game : games) {
+                        fenGames.add(FenGameData.of(game));
+                    }
+                    response.put("games", fenGames);
+                } else if ("game".equalsIgnoreCase(req.queryParams("format"))) {
+                    response.put("games", gameService.listGames(authToken));
+                } else {
+                    GameQuery query;
+                    try {
+                        query = parseQuery(req);
+                    } catch (IllegalArgumentException e) {
+                        res.status(400);
+                        return gson.toJson(Map.of("message", "Error: invalid list parameters"));
+                    }
+                    GamePage page = gameService.listGameSummaries(authToken, query);
+                    response.put("games", page.games());
+                    if (page.nextCursor() != null) {
+                        response.put("nextCursor", page.nextCursor());
+                    }
+                }
 
+                res.status(200);
                 return gson.toJson(response);
             } catch (DataAccessException e) {
                 return handleErrorResponse(res, e);
@@ -109,7 +136,7 @@ public class GameHandler {
 
                 GameData game = gameService.observeGame(authToken, gameID);
                 res.status(200);
-                return gson.toJson(game);
+                return gson.toJson(wantsFen(req) ? FenGameData.of(game) : game);
             } catch (DataAccessException e) {
                 return handleErrorResponse(res, e);
             } catch (NumberFormatException e) {
@@ -120,6 +147,35 @@ public class GameHandler {
     }
 
 
+    /** 목록 요청의 커서 / 필터 파라미터 (잘못된 값이면 IllegalArgumentException) */
+    private static GameQuery parseQuery(Request req) {
+        String after = req.queryParams("after");
+        String limit = req.queryParams("limit");
+        String player = req.queryParams("player");
+        return new GameQuery(
+                (after == null) ? 0 : Integer.parseInt(after),
+                (limit == null) ? GameQuery.DEFAULT_LIMIT : Integer.parseInt(limit),
+                parseFlag(req.queryParams("open")) == Boolean.TRUE,
+                (player == null || player.isEmpty()) ? null : player,
+                parseFlag(req.queryParams("finished")));
+    }
+
+    private static Boolean parseFlag(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return switch (value.toLowerCase()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Not a boolean: " + value);
+        };
+    }
+
+    /** ?format=fen 이면 게임 상태를 ChessGame 객체 대신 FEN 문자열로 응답 */
+    private static boolean wantsFen(Request req) {
+        return "fen".equalsIgnoreCase(req.queryParams("format"));
+    }
+
     /** ✅ 중복된 오류 응답 처리를 위한 메서드 */
     private String handleErrorResponse(Response res, DataAccessException e) {
         int statusCode = switch (e.getMessage()) {
@@ -133,6 +189,14 @@ public class GameHandler {
         return gson.toJson(Map.of("message", e.getMessage()));
     }
 
+    /** ✅ FEN 형식의 게임 응답 객체 */
+    private record FenGameData(int gameID, String whiteUsername, String blackUsername, String gameName, String fen) {
+        static FenGameData of(GameData game) {
+            String fen = (game.game() == null) ? null : Fen.toFen(game.game());
+            return new FenGameData(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName(), fen);
+        }
+    }
+
     /** ✅ 게임 생성 요청 객체 */
     private static class GameRequest {
         private String gameName;
@@ -9,14 +9,24 @@ public class ClearService {
     private final UserDAO userDAO;
     private final GameDAO gameDAO;
     private final AuthDAO authDAO;
+    private final GameActors gameActors;
 
     public ClearService(UserDAO userDAO, GameDAO gameDAO, AuthDAO authDAO) {
+        this(userDAO, gameDAO, authDAO, null);
+    }
+
+    public ClearService(UserDAO userDAO, GameDAO gameDAO, AuthDAO authDAO, GameActors gameActors) {
         this.userDAO = userDAO;
         this.gameDAO = gameDAO;
         this.authDAO = authDAO;
+        this.gameActors = gameActors;
     }
 
     public void clear() throws DataAccessException {
+        // 메모리에 있는 게임 상태와 남은 저장을 먼저 정리해야 지운 게임이 다시 써지지 않음
+        if (gameActors != null) {
+            gameActors.clear();
+        }
         userDAO.clear();
         gameDAO.clear();
         authDAO.clear();
@@ -0,0 +1,253 @@
+package service;
+
+import chess.InvalidMoveException;
+import dataaccess.DataAccessException;
+import dataaccess.GameDAO;
+import model.GameData;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게임 하나의 live 상태를 소유하는 actor.
+ * <p>
+ * 명령은 mailbox에 쌓이고 공유 executor에서 한 번에 하나씩, 들어온 순서대로 실행된다. 같은 게임에 대한
+ * 동시 요청도 읽기-수정-쓰기 경쟁 없이 차례로 적용되고, 상태는 처음 한 번만 DB에서 읽어 메모리에 둔다.
+ * <p>
+ * 저장은 단일 persister 스레드에서 순서대로 이루어진다. {@link Persistence#ASYNC} 변경(일반적인 수)은
+ * 기다리지 않고 가장 최근 상태만 저장하고, {@link Persistence#SYNC} 변경(자리 변경, 게임 종료)은
+ * {@link GameDAO#updateGameNow}로 DAO의 쓰기 버퍼도 거치지 않고 저장이 끝날 때까지 명령이 완료되지 않는다. live {@code ChessGame}은 actor 밖으로 나가지 않으며, 호출자와
+ * persister는 {@link #snapshot(GameData)} 복사본만 받는다.
+ */
+final class GameActor {
+
+    /**
+     * actor 스레드에서 실행되는 명령. {@code current}는 게임이 없으면 null
+     */
+    @FunctionalInterface
+    interface Command<T> {
+        Result<T> apply(GameData current) throws DataAccessException, InvalidMoveException;
+    }
+
+    enum Persistence { ASYNC, SYNC }
+
+    /**
+     * @param updated 새 상태, 변경이 없으면 null
+     */
+    record Result<T>(T value, GameData updated, Persistence persistence) {
+        static <T> Result<T> of(T value) {
+            return new Result<>(value, null, null);
+        }
+
+        static <T> Result<T> changed(T value, GameData updated, Persistence persistence) {
+            return new Result<>(value, updated, persistence);
+        }
+    }
+
+    private final int gameID;
+    private final GameDAO gameDAO;
+    private final Executor executor;
+    private final ExecutorService persister;
+
+    // mailbox 관련 필드는 this로 동기화
+    private final ArrayDeque<Runnable> mailbox = new ArrayDeque<>();
+    private boolean scheduled;
+    private boolean retired;
+    private long lastUsed = System.nanoTime();
+
+    // actor 스레드에서만 접근 (mailbox 동기화로 스레드 간 가시성 보장)
+    private GameData state;
+
+    // 아직 저장하지 않은 최신 상태와 예약된 저장 작업 수
+    private final AtomicReference<GameData> unsaved = new AtomicReference<>();
+    private final AtomicInteger scheduledFlushes = new AtomicInteger();
+
+    GameActor(int gameID, GameDAO gameDAO, Executor executor, ExecutorService persister) {
+        this.gameID = gameID;
+        this.gameDAO = gameDAO;
+        this.executor = executor;
+        this.persister = persister;
+    }
+
+    /**
+     * @return 명령 결과, actor가 이미 종료되었으면 null (새 actor로 다시 시도해야 함)
+     */
+    <T> CompletableFuture<T> submit(Command<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (!enqueue(() -> run(command, result))) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * 더 이상 명령을 받지 않도록 하고, 이미 받은 명령과 그 저장이 모두 끝나면 완료
+     */
+    CompletableFuture<Void> retire() {
+        CompletableFuture<Void> drained = new CompletableFuture<>();
+        Runnable last = () -> {
+            try {
+                flushSync();
+                drained.complete(null);
+            } catch (DataAccessException e) {
+                drained.completeExceptionally(e);
+            }
+        };
+        synchronized (this) {
+            if (retired) {
+                return CompletableFuture.completedFuture(null);
+            }
+            retired = true;
+            mailbox.add(last);
+            if (scheduled) {
+                return drained;
+            }
+            scheduled = true;
+        }
+        executor.execute(this::drain);
+        return drained;
+    }
+
+    /**
+     * 처리 중인 명령도, 남은 저장도 없이 {@code idleSince} 이후로 쓰이지 않았으면 종료
+     *
+     * @return 종료했으면 true
+     */
+    synchronized boolean retireIfIdle(long idleSince) {
+        if (retired || scheduled || lastUsed - idleSince > 0
+                || unsaved.get() != null || scheduledFlushes.get() > 0) {
+            return false;
+        }
+        retired = true;
+        return true;
+    }
+
+    /**
+     * @return 호출자에게 넘겨줄 복사본 (live 게임과 상태를 공유하지 않음)
+     */
+    static GameData snapshot(GameData data) {
+        if (data == null || data.game() == null) {
+            return data;
+        }
+        return new GameData(data.gameID(), data.whiteUsername(), data.blackUsername(), data.gameName(),
+                data.game().copy());
+    }
+
+    private boolean enqueue(Runnable task) {
+        synchronized (this) {
+            if (retired) {
+                return false;
+            }
+            mailbox.add(task);
+            lastUsed = System.nanoTime();
+            if (scheduled) {
+                return true;
+            }
+            scheduled = true;
+        }
+        executor.execute(this::drain);
+        return true;
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (this) {
+                next = mailbox.poll();
+                if (next == null) {
+                    scheduled = false;
+                    return;
+                }
+            }
+            next.run();
+        }
+    }
+
+    private <T> void run(Command<T> command, CompletableFuture<T> result) {
+        try {
+            if (state == null) {
+                state = gameDAO.getGame(gameID);
+            }
+            Result<T> outcome = command.apply(state);
+            if (outcome.updated() != null) {
+                state = outcome.updated();
+                try {
+                    persist(outcome.persistence());
+                } catch (DataAccessException e) {
+                    // 저장 실패: 메모리 상태를 버리고 다음 명령에서 DB로부터 다시 읽음
+                    state = null;
+                    unsaved.set(null);
+                    throw e;
+                }
+            }
+            result.complete(outcome.value());
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private void persist(Persistence persistence) throws DataAccessException {
+        unsaved.set(snapshot(state));
+        if (persistence == Persistence.SYNC) {
+            flushSync();
+            return;
+        }
+        scheduledFlushes.incrementAndGet();
+        persister.execute(() -> {
+            try {
+                flush(false);
+            } catch (DataAccessException e) {
+                System.err.println("Failed to save game " + gameID + ": " + e.getMessage());
+            } finally {
+                scheduledFlushes.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * persister 스레드에서 남은 상태를 바로 저장(write-through)하고 끝날 때까지 기다림. 앞서 예약된 비동기 저장보다 늦게 실행되므로
+     * 오래된 상태가 새 상태를 덮어쓰지 않는다
+     */
+    private void flushSync() throws DataAccessException {
+        try {
+            persister.submit(() -> {
+                flush(true);
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Error: interrupted while saving game");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DataAccessException dataAccess) {
+                throw dataAccess;
+            }
+            throw new DataAccessException("Error: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * @param now true면 DAO가 쓰기를 모아 두는 경우에도 바로 저장
+     */
+    private void flush(boolean now) throws DataAccessException {
+        GameData pending = unsaved.getAndSet(null);
+        if (pending == null) {
+            return;
+        }
+        try {
+            if (now) {
+                gameDAO.updateGameNow(pending);
+            } else {
+                gameDAO.updateGame(pending);
+            }
+        } catch (DataAccessException e) {
+            // 더 새로운 상태가 없으면 다음 저장 때 다시 시도
+            unsaved.compareAndSet(null, pending);
+            throw e;
+        }
+    }
+}
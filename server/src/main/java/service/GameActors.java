@@ -0,0 +1,128 @@
+package service;
+
+import chess.InvalidMoveException;
+import dataaccess.DataAccessException;
+import dataaccess.GameDAO;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gameID → {@link GameActor} 레지스트리.
+ * <p>
+ * 명령을 보낼 때 actor를 만들고, 일정 시간 쓰이지 않은 actor는 주기적으로 정리한다. 명령 실행은 virtual
+ * thread에서, 저장은 모든 게임이 공유하는 단일 persister 스레드에서 이루어진다.
+ */
+public class GameActors implements AutoCloseable {
+
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private final GameDAO gameDAO;
+    private final Map<Integer, GameActor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ExecutorService persister = Executors.newSingleThreadExecutor(daemon("game-persister"));
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(daemon("game-actor-sweeper"));
+    private final long idleTimeoutNanos;
+
+    public GameActors(GameDAO gameDAO) {
+        this(gameDAO, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public GameActors(GameDAO gameDAO, Duration idleTimeout) {
+        this.gameDAO = gameDAO;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        long period = Math.max(1, idleTimeout.toMillis() / 2);
+        sweeper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 게임의 actor에서 명령을 실행하고 결과를 기다림
+     */
+    <T> T ask(int gameID, GameActor.Command<T> command) throws DataAccessException, InvalidMoveException {
+        while (true) {
+            GameActor actor = actors.computeIfAbsent(gameID, id -> new GameActor(id, gameDAO, executor, persister));
+            CompletableFuture<T> result = actor.submit(command);
+            if (result == null) {
+                // 방금 정리된 actor: 레지스트리에서 빼고 새로 만들어 다시 시도
+                actors.remove(gameID, actor);
+                continue;
+            }
+            return await(result);
+        }
+    }
+
+    /**
+     * 모든 actor를 정리하고, 받은 명령과 저장이 끝날 때까지 기다림. DB를 비우기 전에 호출해야
+     * 늦게 도착한 저장이 지워진 게임을 다시 쓰지 않는다
+     */
+    public void clear() throws DataAccessException {
+        List<CompletableFuture<Void>> drained = new ArrayList<>();
+        for (GameActor actor : actors.values()) {
+            drained.add(actor.retire());
+        }
+        actors.clear();
+        for (CompletableFuture<Void> future : drained) {
+            try {
+                await(future);
+            } catch (InvalidMoveException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws DataAccessException {
+        sweeper.shutdownNow();
+        clear();
+        executor.shutdown();
+        persister.shutdown();
+    }
+
+    private void evictIdle() {
+        long idleSince = System.nanoTime() - idleTimeoutNanos;
+        actors.forEach((gameID, actor) -> {
+            if (actor.retireIfIdle(idleSince)) {
+                actors.remove(gameID, actor);
+            }
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws DataAccessException, InvalidMoveException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Error: interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DataAccessException dataAccess) {
+                throw dataAccess;
+            }
+            if (cause instanceof InvalidMoveException invalidMove) {
+                throw invalidMove;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new DataAccessException("Error: " + cause.getMessage());
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
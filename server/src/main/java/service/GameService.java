@@ -5,22 +5,31 @@ import chess.ChessMove;
 import chess.InvalidMoveException;
 import dataaccess.AuthDAO;
 import dataaccess.GameDAO;
+import dataaccess.GamePage;
+import dataaccess.GameQuery;
 import dataaccess.DataAccessException;
 import model.AuthData;
 import model.GameData;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameService {
     private final GameDAO gameDAO;
     private final AuthDAO authDAO;
+    private final GameActors actors;
 
     public GameService(GameDAO gameDAO, AuthDAO authDAO) {
+        this(gameDAO, authDAO, new GameActors(gameDAO));
+    }
+
+    /**
+     * @param actors 진행 중인 게임의 상태를 소유하는 actor들 (ClearService와 공유)
+     */
+    public GameService(GameDAO gameDAO, AuthDAO authDAO, GameActors actors) {
         this.gameDAO = gameDAO;
         this.authDAO = authDAO;
+        this.actors = actors;
     }
 
     public List<GameData> listGames(String authToken) throws DataAccessException {
@@ -30,7 +39,6 @@ public class GameService {
         }
 
         List<GameData> games = gameDAO.listGames();
-        System.out.println("Retrieved games: " + games);
 
         if (games == null) {
             return new ArrayList<>(); // null 방지
@@ -39,6 +47,17 @@ public class GameService {
     }
 
 
+    /**
+     * 게임 상태 없이 목록에 필요한 정보만 한 페이지씩 조회 (게임 상태는 게임을 열 때 {@link #observeGame}으로 읽음)
+     */
+    public GamePage listGameSummaries(String authToken, GameQuery query) throws DataAccessException {
+        AuthData auth = authDAO.getAuth(authToken);
+        if (auth == null) {
+            throw new DataAccessException("Error: unauthorized");
+        }
+        return gameDAO.listGameSummaries(query);
+    }
+
     public GameData createGame(String authToken, String gameName) throws DataAccessException {
         AuthData auth = authDAO.getAuth(authToken);
         if (auth == null) {
@@ -66,33 +85,35 @@ public class GameService {
             throw new DataAccessException("Error: unauthorized");
         }
 
-        GameData game = gameDAO.getGame(gameID);
-        if (game == null) {
-            throw new DataAccessException("Error: bad request");
-        }
-
-        if (!"WHITE".equalsIgnoreCase(playerColor) && !"BLACK".equalsIgnoreCase(playerColor)) {
-            throw new DataAccessException("Error: bad request");
-        }
+        ask(gameID, game -> {
+            if (game == null) {
+                throw new DataAccessException("Error: bad request");
+            }
 
+            if (!"WHITE".equalsIgnoreCase(playerColor) && !"BLACK".equalsIgnoreCase(playerColor)) {
+                throw new DataAccessException("Error: bad request");
+            }
 
-        // **WHITE 자리 체크**
-        if ("WHITE".equalsIgnoreCase(playerColor)) {
-            if (game.whiteUsername() != null) {
-                throw new DataAccessException("Error: already taken");
+            GameData updated;
+            // **WHITE 자리 체크**
+            if ("WHITE".equalsIgnoreCase(playerColor)) {
+                if (game.whiteUsername() != null) {
+                    throw new DataAccessException("Error: already taken");
+                }
+                updated = new GameData(game.gameID(), auth.username(), game.blackUsername(), game.gameName(), game.game());
             }
-            game = new GameData(game.gameID(), auth.username(), game.blackUsername(), game.gameName(), game.game());
-        }
 
-        // **BLACK 자리 체크**
-        else if ("BLACK".equalsIgnoreCase(playerColor)) {
-            if (game.blackUsername() != null) {
-                throw new DataAccessException("Error: already taken");
+            // **BLACK 자리 체크**
+            else {
+                if (game.blackUsername() != null) {
+                    throw new DataAccessException("Error: already taken");
+                }
+                updated = new GameData(game.gameID(), game.whiteUsername(), auth.username(), game.gameName(), game.game());
             }
-            game = new GameData(game.gameID(), game.whiteUsername(), auth.username(), game.gameName(), game.game());
-        }
 
-        gameDAO.updateGame(game);
+            // 자리 변경은 목록에 바로 보여야 하므로 저장이 끝날 때까지 기다림
+            return GameActor.Result.changed(null, updated, GameActor.Persistence.SYNC);
+        });
     }
 
     public GameData observeGame(String authToken, int gameID) throws DataAccessException {
@@ -101,29 +122,25 @@ public class GameService {
             throw new DataAccessException("Error: unauthorized");
         }
 
-        GameData game = gameDAO.getGame(gameID);
-        if (game == null) {
-            throw new DataAccessException("Error: bad request");
-        }
-
-        return game;
+        return ask(gameID, game -> {
+            if (game == null) {
+                throw new DataAccessException("Error: bad request");
+            }
+            return GameActor.Result.of(GameActor.snapshot(game));
+        });
     }
 
     public ChessGame getGame(int gameID, String authToken) throws DataAccessException {
-        AuthData auth = authDAO.getAuth(authToken);
-        if (auth == null) {
-            throw new DataAccessException("Error: unauthorized");
-        }
-
-        GameData game = gameDAO.getGame(gameID);
-        if (game == null) {
-            throw new DataAccessException("Error: bad request");
-        }
-
-        return game.game();
+        return observeGame(authToken, gameID).game();
     }
 
-    public ChessGame makeMove(int gameID, String authToken, ChessMove move)
+    /**
+     * 게임의 actor에서 수를 둠. 같은 게임의 명령은 순서대로 하나씩 처리되므로 동시에 들어온 수끼리 경쟁하지 않고,
+     * 게임 상태를 DB에서 다시 읽지 않는다. 일반적인 수는 비동기로, 게임을 끝내는 수는 바로 저장된다.
+     *
+     * @return 수를 둔 뒤의 게임 (복사본)
+     */
+    public GameData makeMove(int gameID, String authToken, ChessMove move)
             throws DataAccessException, InvalidMoveException {
 
         // 1. 인증 토큰 검증
@@ -132,85 +149,115 @@ public class GameService {
             throw new DataAccessException("Error: unauthorized");
         }
 
-        // 2. 게임 데이터 불러오기
-        GameData gameData = gameDAO.getGame(gameID);
-        if (gameData == null) {
-            throw new DataAccessException("Error: bad request");
-        }
-
-        ChessGame game = gameData.game();
-        if (game == null) {
-            throw new DataAccessException("Error: no game state");
-        }
+        return actors.ask(gameID, gameData -> {
+            // 2. 게임 데이터 확인
+            if (gameData == null) {
+                throw new DataAccessException("Error: bad request");
+            }
 
-        // 3. 게임 종료 여부 확인
-        if (game.isGameOver()) {
-            throw new DataAccessException("Error: game is already over");
-        }
+            ChessGame game = gameData.game();
+            if (game == null) {
+                throw new DataAccessException("Error: no game state");
+            }
 
-        // 4. 유저가 플레이어인지 확인
-        String username = auth.username();
-        ChessGame.TeamColor playerColor;
-        if (username.equals(gameData.whiteUsername())) {
-            playerColor = ChessGame.TeamColor.WHITE;
-        } else if (username.equals(gameData.blackUsername())) {
-            playerColor = ChessGame.TeamColor.BLACK;
-        } else {
-            throw new DataAccessException("Error: only players can move");
-        }
+            // 3. 게임 종료 여부 확인
+            if (game.isGameOver()) {
+                throw new DataAccessException("Error: game is already over");
+            }
 
-        // 5. 턴이 맞는지 확인
-        if (game.getTeamTurn() != playerColor) {
-            throw new DataAccessException("Error: not your turn");
-        }
+            // 4. 유저가 플레이어인지 확인
+            String username = auth.username();
+            ChessGame.TeamColor playerColor;
+            if (username.equals(gameData.whiteUsername())) {
+                playerColor = ChessGame.TeamColor.WHITE;
+            } else if (username.equals(gameData.blackUsername())) {
+                playerColor = ChessGame.TeamColor.BLACK;
+            } else {
+                throw new DataAccessException("Error: only players can move");
+            }
 
-        // 6. 유효한 이동인지 확인
-        var validMoves = game.validMoves(move.getStartPosition());
-        if (validMoves == null || !validMoves.contains(move)) {
-            throw new InvalidMoveException("Error: invalid move");
-        }
+            // 5. 턴이 맞는지 확인
+            if (game.getTeamTurn() != playerColor) {
+                throw new DataAccessException("Error: not your turn");
+            }
 
-        // 7. 이동 수행 (예외 발생 가능)
-        game.makeMove(move);
+            // 6. 유효한 이동인지 확인
+            var validMoves = game.validMoves(move.getStartPosition());
+            if (validMoves == null || !validMoves.contains(move)) {
+                throw new InvalidMoveException("Error: invalid move");
+            }
 
-        // 8. 게임 데이터 업데이트
-        gameDAO.updateGame(new GameData(
-                gameData.gameID(),
-                gameData.whiteUsername(),
-                gameData.blackUsername(),
-                gameData.gameName(),
-                game
-        ));
+            // 7. 이동 수행 (예외 발생 가능)
+            game.makeMove(move);
 
-        return game;
+            // 8. 체크메이트 / 스테일메이트 / 무승부면 게임 종료 후 바로 저장
+            if (game.getStatus().isTerminal()) {
+                game.setGameOver(true);
+                return GameActor.Result.changed(GameActor.snapshot(gameData), gameData, GameActor.Persistence.SYNC);
+            }
+            return GameActor.Result.changed(GameActor.snapshot(gameData), gameData, GameActor.Persistence.ASYNC);
+        });
     }
 
-
-
     public void leaveGame(int gameID, String authToken) throws DataAccessException {
         AuthData auth = authDAO.getAuth(authToken);
         if (auth == null) {
             throw new DataAccessException("Error: unauthorized");
         }
 
-        GameData game = gameDAO.getGame(gameID);
-        if (game == null) {
-            throw new DataAccessException("Error: bad request");
-        }
+        ask(gameID, game -> {
+            if (game == null) {
+                throw new DataAccessException("Error: bad request");
+            }
 
-        String username = auth.username();
-        GameData updated = game;
+            String username = auth.username();
+            GameData updated;
+            if (username.equals(game.whiteUsername())) {
+                updated = new GameData(game.gameID(), null, game.blackUsername(), game.gameName(), game.game());
+            } else if (username.equals(game.blackUsername())) {
+                updated = new GameData(game.gameID(), game.whiteUsername(), null, game.gameName(), game.game());
+            } else {
+                return GameActor.Result.of(null);
+            }
+            return GameActor.Result.changed(null, updated, GameActor.Persistence.SYNC);
+        });
+    }
 
-        if (username.equals(game.whiteUsername())) {
-            updated = new GameData(game.gameID(), null, game.blackUsername(), game.gameName(), game.game());
-        } else if (username.equals(game.blackUsername())) {
-            updated = new GameData(game.gameID(), game.whiteUsername(), null, game.gameName(), game.game());
+    /**
+     * 플레이어의 기권으로 게임 종료
+     *
+     * @return 종료된 게임 (복사본)
+     */
+    public GameData resign(int gameID, String authToken) throws DataAccessException {
+        AuthData auth = authDAO.getAuth(authToken);
+        if (auth == null) {
+            throw new DataAccessException("Error: invalid authToken");
         }
 
-        gameDAO.updateGame(updated);
-    }
-
+        return ask(gameID, game -> {
+            if (game == null) {
+                throw new DataAccessException("Error: invalid game ID");
+            }
 
+            String username = auth.username();
+            if (!username.equals(game.whiteUsername()) && !username.equals(game.blackUsername())) {
+                throw new DataAccessException("Error: observers can't resign");
+            }
+            if (game.game().isGameOver()) {
+                throw new DataAccessException("Error: game already over");
+            }
 
+            game.game().setGameOver(true);
+            return GameActor.Result.changed(GameActor.snapshot(game), game, GameActor.Persistence.SYNC);
+        });
+    }
 
-}
\ No newline at end of file
+    /** 수를 두지 않는 명령은 InvalidMoveException을 던지지 않음 */
+    private <T> T ask(int gameID, GameActor.Command<T> command) throws DataAccessException {
+        try {
+            return actors.ask(gameID, command);
+        } catch (InvalidMoveException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
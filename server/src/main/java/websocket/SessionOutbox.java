@@ -0,0 +1,264 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.StatusCode;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import websocket.messages.ServerMessage.ServerMessageType;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 세션 하나의 outbound 큐.
+ * <p>
+ * 메시지는 큐에 넣기만 하고 바로 반환하며, Jetty의 비동기 {@code sendString(String, WriteCallback)}으로
+ * 한 번에 하나씩 전송한다 (Jetty는 한 세션에 동시에 하나의 비동기 write만 허용). 이전 write의 콜백에서
+ * 다음 메시지를 보내므로 세션별 순서는 유지되고, 느린 클라이언트가 있어도 handler 스레드는 막히지 않는다.
+ * 큐가 {@code capacity}를 넘으면 {@link SlowConsumerPolicy}에 따라 처리한다. write가 실패하면 세션을 닫는다.
+ */
+final class SessionOutbox implements WriteCallback {
+
+    private record Outbound(ServerMessageType type, String payload) {
+        boolean isGameState() {
+            return type == ServerMessageType.LOAD_GAME || type == ServerMessageType.MOVE;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SessionOutbox.class);
+
+    private final Session session;
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final Consumer<SessionOutbox> onClose;
+
+    // 아래 필드는 모두 this로 동기화
+    private final ArrayDeque<Outbound> pending = new ArrayDeque<>();
+    private boolean writing;
+    private boolean closed;
+    private int dropped;
+    // 마지막으로 받은 게임 상태 메시지까지 반영된 전체 상태 (LOAD_GAME)
+    private String latestSnapshot;
+
+    SessionOutbox(Session session, int capacity, SlowConsumerPolicy policy) {
+        this(session, capacity, policy, outbox -> { });
+    }
+
+    /**
+     * @param onClose 큐가 스스로 세션을 닫을 때 (느린 클라이언트 / 전송 실패) 호출됨, 등록 해제용
+     */
+    SessionOutbox(Session session, int capacity, SlowConsumerPolicy policy, Consumer<SessionOutbox> onClose) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be positive: " + capacity);
+        }
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.onClose = onClose;
+    }
+
+    /**
+     * 게임 상태가 아닌 메시지 또는 LOAD_GAME을 큐에 넣음
+     */
+    void offer(ServerMessageType type, String payload) {
+        offer(type, payload, (type == ServerMessageType.LOAD_GAME) ? payload : null);
+    }
+
+    /**
+     * 메시지를 큐에 넣고, 진행 중인 write가 없으면 바로 전송을 시작
+     *
+     * @param snapshot 게임 상태 메시지 (LOAD_GAME / MOVE)일 때 이 메시지까지 반영된 전체 상태의 LOAD_GAME.
+     *                 큐가 가득 차서 MOVE delta를 버려야 할 때 대신 보냄
+     */
+    void offer(ServerMessageType type, String payload, String snapshot) {
+        Outbound message = new Outbound(type, payload);
+        if (message.isGameState() && snapshot == null) {
+            throw new IllegalArgumentException("Game state messages need a snapshot");
+        }
+        Outbound next = null;
+        boolean disconnect = false;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (message.isGameState()) {
+                latestSnapshot = snapshot;
+            }
+            if (policy == SlowConsumerPolicy.COALESCE && type == ServerMessageType.LOAD_GAME) {
+                // 전체 상태이므로 아직 보내지 않은 LOAD_GAME과 그 위의 MOVE delta를 모두 대체
+                dropped += removeGameStates();
+            }
+            if (pending.size() >= capacity) {
+                if (policy == SlowConsumerPolicy.DISCONNECT) {
+                    closed = true;
+                    pending.clear();
+                    disconnect = true;
+                } else {
+                    message = makeRoom(message);
+                }
+            }
+            if (!disconnect) {
+                next = enqueue(message);
+            }
+        }
+        if (disconnect) {
+            disconnect(StatusCode.POLICY_VIOLATION, "Slow consumer", "queue full");
+        } else if (next != null) {
+            write(next);
+        }
+    }
+
+    /**
+     * 세션이 닫혔을 때 남은 메시지를 버림
+     */
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    /**
+     * @return 정책에 따라 버려진 메시지 수
+     */
+    synchronized int dropped() {
+        return dropped;
+    }
+
+    @Override
+    public void writeSuccess() {
+        Outbound next;
+        synchronized (this) {
+            next = closed ? null : pending.pollFirst();
+            if (next == null) {
+                writing = false;
+                return;
+            }
+        }
+        write(next);
+    }
+
+    /**
+     * 한 번 실패한 세션에는 이후 메시지도 제대로 전달된다고 볼 수 없으므로 세션을 닫음.
+     * 클라이언트는 다시 CONNECT 해서 전체 상태를 받음
+     */
+    @Override
+    public void writeFailed(Throwable cause) {
+        synchronized (this) {
+            writing = false;
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        disconnect(StatusCode.SERVER_ERROR, "Send failed", String.valueOf(cause.getMessage()));
+    }
+
+    /** @return 지금 바로 보내야 할 메시지, 이미 write 중이면 null */
+    private Outbound enqueue(Outbound message) {
+        pending.addLast(message);
+        if (writing) {
+            return null;
+        }
+        writing = true;
+        return pending.pollFirst();
+    }
+
+    /** @return 버린 게임 상태 메시지 (LOAD_GAME / MOVE) 수 */
+    private int removeGameStates() {
+        int removed = 0;
+        for (Iterator<Outbound> it = pending.iterator(); it.hasNext(); ) {
+            if (it.next().isGameState()) {
+                it.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 가득 찬 큐에 {@code message}를 넣을 자리를 만듦. ERROR는 버리지 않고, 게임 상태는 delta가 기대는
+     * 기준 LOAD_GAME만 따로 버리는 대신 대기 중인 상태 메시지를 모두 최신 전체 상태 하나로 대체함.
+     * 버릴 수 있는 것이 없으면 (ERROR뿐이면) 용량을 잠시 넘김
+     *
+     * @return 실제로 넣을 메시지 (대기 중인 상태를 대체했다면 MOVE 대신 LOAD_GAME)
+     */
+    private Outbound makeRoom(Outbound message) {
+        Outbound snapshot = new Outbound(ServerMessageType.LOAD_GAME, latestSnapshot);
+        if (message.isGameState()) {
+            int removed = removeGameStates();
+            if (removed > 0) {
+                dropped += removed;
+                return snapshot;
+            }
+        } else if (collapseGameStates(snapshot)) {
+            return message;
+        }
+        for (Iterator<Outbound> it = pending.iterator(); it.hasNext(); ) {
+            if (it.next().type() == ServerMessageType.NOTIFICATION) {
+                it.remove();
+                dropped++;
+                return message;
+            }
+        }
+        return message;
+    }
+
+    /**
+     * 대기 중인 게임 상태 메시지가 둘 이상이면, 마지막 상태 메시지 자리에 최신 전체 상태 하나만 남김
+     *
+     * @return 자리가 생겼는지
+     */
+    private boolean collapseGameStates(Outbound snapshot) {
+        int states = 0;
+        for (Outbound queued : pending) {
+            if (queued.isGameState()) {
+                states++;
+            }
+        }
+        if (states < 2) {
+            return false;
+        }
+        List<Outbound> kept = new ArrayList<>(pending.size() - states + 1);
+        int seen = 0;
+        for (Outbound queued : pending) {
+            if (!queued.isGameState()) {
+                kept.add(queued);
+            } else if (++seen == states) {
+                kept.add(snapshot);
+            }
+        }
+        pending.clear();
+        pending.addAll(kept);
+        dropped += states - 1;
+        return true;
+    }
+
+    private void write(Outbound message) {
+        try {
+            session.getRemote().sendString(message.payload(), this);
+        } catch (RuntimeException e) {
+            writeFailed(e);
+        }
+    }
+
+    /**
+     * closed로 바뀐 쪽에서만 호출되므로 세션마다 한 번만 로그를 남김
+     */
+    private void disconnect(int statusCode, String reason, String detail) {
+        LOG.warn("Closing websocket session {} ({}: {})", session.getRemoteAddress(), reason, detail);
+        onClose.accept(this);
+        try {
+            session.close(statusCode, reason);
+        } catch (RuntimeException e) {
+            LOG.debug("Closing websocket session failed", e);
+        }
+    }
+}
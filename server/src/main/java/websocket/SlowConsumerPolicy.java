@@ -0,0 +1,31 @@
+package websocket;
+
+/**
+ * 세션의 outbound 큐가 가득 찼을 때 (클라이언트가 메시지를 읽는 속도보다 게임이 빨리 진행될 때) 처리 방법
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * 대기 중인 중간 게임 상태 (LOAD_GAME / MOVE)를 최신 전체 상태의 LOAD_GAME 하나로 합치고, 그래도 자리가 없으면
+     * 가장 오래된 NOTIFICATION을 버림. MOVE delta가 기대는 LOAD_GAME만 따로 버리거나 ERROR를 버리지는 않음
+     */
+    DROP_STALE_STATES,
+
+    /**
+     * 새 LOAD_GAME이 들어오면 아직 보내지 않은 LOAD_GAME과 MOVE delta를 모두 대체하고, 그래도 가득 차면
+     * DROP_STALE_STATES와 같이 처리
+     */
+    COALESCE,
+
+    /** 큐가 가득 차면 세션을 닫음. 클라이언트는 다시 CONNECT 해서 전체 상태를 받아야 함 */
+    DISCONNECT;
+
+    public static SlowConsumerPolicy parse(String name) {
+        for (SlowConsumerPolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(name.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown slow consumer policy: " + name);
+    }
+}
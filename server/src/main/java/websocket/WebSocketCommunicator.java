@@ -8,11 +8,16 @@ import dataaccess.GameDAO;
 import model.AuthData;
 import model.GameData;
 import org.eclipse.jetty.websocket.api.Session;
+import websocket.commands.ConnectCommand.PositionFormat;
+import websocket.messages.LoadGameMessage;
+import websocket.messages.MoveMessage;
 import websocket.messages.ServerMessage;
 
-import java.io.IOException;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class WebSocketCommunicator {
 
@@ -25,17 +30,60 @@ public class WebSocketCommunicator {
     // authToken → username 매핑
     private static final Map<String, String> TOKEN_TO_USERNAME = new ConcurrentHashMap<>();
 
+    // authToken → LOAD_GAME 위치 형식 (CONNECT 시 선택, 기본값 GAME)
+    private static final Map<String, PositionFormat> POSITION_FORMATS = new ConcurrentHashMap<>();
+
+    // 수를 둘 때마다 LOAD_GAME 대신 MOVE delta를 받는 authToken
+    private static final Set<String> DELTA_UPDATES = ConcurrentHashMap.newKeySet();
+
+    // Session → outbound 큐 (세션이 닫히면 제거)
+    private static final Map<Session, SessionOutbox> OUTBOXES = new ConcurrentHashMap<>();
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    public static final SlowConsumerPolicy DEFAULT_SLOW_CONSUMER_POLICY = SlowConsumerPolicy.COALESCE;
+
     private final Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
     private final GameDAO gameDAO;
     private final AuthDAO authDAO;
+    private final int queueCapacity;
+    private final SlowConsumerPolicy slowConsumerPolicy;
 
     public WebSocketCommunicator(GameDAO gameDAO, AuthDAO authDAO) {
+        this(gameDAO, authDAO, DEFAULT_QUEUE_CAPACITY, DEFAULT_SLOW_CONSUMER_POLICY);
+    }
+
+    /**
+     * @param queueCapacity      세션별로 아직 보내지 않은 메시지를 최대 몇 개까지 쌓아둘지
+     * @param slowConsumerPolicy 큐가 가득 찼을 때의 처리 방법
+     */
+    public WebSocketCommunicator(GameDAO gameDAO, AuthDAO authDAO, int queueCapacity,
+                                 SlowConsumerPolicy slowConsumerPolicy) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Outbound queue capacity must be positive: " + queueCapacity);
+        }
         this.gameDAO = gameDAO;
         this.authDAO = authDAO;
+        this.queueCapacity = queueCapacity;
+        this.slowConsumerPolicy = slowConsumerPolicy;
     }
 
     public void addConnection(String authToken, int gameID, Session session) {
+        addConnection(authToken, gameID, session, PositionFormat.GAME);
+    }
+
+    public void addConnection(String authToken, int gameID, Session session, PositionFormat positionFormat) {
+        addConnection(authToken, gameID, session, positionFormat, false);
+    }
+
+    public void addConnection(String authToken, int gameID, Session session, PositionFormat positionFormat,
+                              boolean deltaUpdates) {
         CONNECTIONS.put(authToken, session);
+        POSITION_FORMATS.put(authToken, positionFormat);
+        if (deltaUpdates) {
+            DELTA_UPDATES.add(authToken);
+        } else {
+            DELTA_UPDATES.remove(authToken);
+        }
         GAME_CONNECTIONS.computeIfAbsent(gameID, k -> new ConcurrentHashMap<>()).put(authToken, session);
 
         try {
@@ -51,6 +99,8 @@ public class WebSocketCommunicator {
     public void removeConnection(String authToken) {
         CONNECTIONS.remove(authToken);
         TOKEN_TO_USERNAME.remove(authToken);
+        POSITION_FORMATS.remove(authToken);
+        DELTA_UPDATES.remove(authToken);
 
         // 게임 세션에서도 제거
         for (Map<String, Session> gameMap : GAME_CONNECTIONS.values()) {
@@ -58,48 +108,118 @@ public class WebSocketCommunicator {
         }
     }
 
+    /**
+     * 닫힌 세션의 outbound 큐 정리 (남은 메시지는 버림)
+     */
+    public void closeSession(Session session) {
+        SessionOutbox outbox = OUTBOXES.remove(session);
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
+
     public void sendMessage(String authToken, ServerMessage message) {
         Session session = CONNECTIONS.get(authToken);
         if (session != null && session.isOpen()) {
+            if (wantsFen(authToken, message)) {
+                message = LoadGameMessage.fen(((LoadGameMessage) message).getGame());
+            }
             sendMessage(session, message);
         }
     }
 
     public void sendMessage(Session session, ServerMessage message) {
-        try {
-            System.out.println("Sending message to session: " + session);
-            System.out.println("Session is open: " + session.isOpen());
-            System.out.println("Message: " + gson.toJson(message));
-
-            session.getRemote().sendString(gson.toJson(message));
+        String payload = gson.toJson(message);
+        send(session, message.getServerMessageType(), payload,
+                (message.getServerMessageType() == ServerMessage.ServerMessageType.LOAD_GAME) ? payload : null);
+    }
 
-            System.out.println("Message successfully sent.");
-        } catch (IOException e) {
-            System.out.println("Failed to send message:");
-            e.printStackTrace();
+    /**
+     * 이미 JSON으로 변환된 메시지를 세션의 outbound 큐에 넣음 (브로드캐스트에서는 모든 세션이 같은 문자열을 공유).
+     * 실제 전송은 비동기로 이루어지므로 느린 세션이 있어도 바로 반환됨
+     *
+     * @param snapshot 게임 상태 메시지일 때 같은 상태의 LOAD_GAME (큐가 밀리면 MOVE delta 대신 보냄)
+     */
+    private void send(Session session, ServerMessage.ServerMessageType type, String payload, String snapshot) {
+        if (!session.isOpen()) {
+            return;
         }
+        OUTBOXES.computeIfAbsent(session, s -> new SessionOutbox(s, queueCapacity, slowConsumerPolicy,
+                        outbox -> OUTBOXES.remove(s, outbox)))
+                .offer(type, payload, snapshot);
     }
 
     public void broadcastToGame(int gameID, ServerMessage message, String exceptAuthToken) {
+        broadcast(gameID, exceptAuthToken, token -> message, null);
+    }
+
+    /**
+     * 수를 둔 뒤의 게임 상태 전송: delta를 원하는 연결에는 MOVE, 나머지에는 LOAD_GAME
+     */
+    public void sendGameUpdate(String authToken, LoadGameMessage snapshot, MoveMessage delta) {
+        Session session = CONNECTIONS.get(authToken);
+        if (session == null || !session.isOpen()) {
+            return;
+        }
+        String load = gson.toJson(wantsFen(authToken, snapshot) ? LoadGameMessage.fen(snapshot.getGame()) : snapshot);
+        if (DELTA_UPDATES.contains(authToken)) {
+            send(session, ServerMessage.ServerMessageType.MOVE, gson.toJson(delta), load);
+        } else {
+            send(session, ServerMessage.ServerMessageType.LOAD_GAME, load, load);
+        }
+    }
+
+    public void broadcastGameUpdate(int gameID, LoadGameMessage snapshot, MoveMessage delta, String exceptAuthToken) {
+        broadcast(gameID, exceptAuthToken, token -> DELTA_UPDATES.contains(token) ? delta : snapshot, snapshot);
+    }
+
+    /**
+     * @param snapshot 게임 상태를 보내는 경우 그 전체 상태 (MOVE delta를 받는 세션에도 대체용으로 함께 넘김)
+     */
+    private void broadcast(int gameID, String exceptAuthToken, Function<String, ServerMessage> messageFor,
+                           LoadGameMessage snapshot) {
         Map<String, Session> gameSessions = GAME_CONNECTIONS.get(gameID);
         if (gameSessions == null) {
             return;
         }
 
+        // FEN 버전은 필요할 때 한 번만 생성하고, 메시지마다 JSON도 한 번만 만들어 모든 세션에 공유
+        Map<ServerMessage, ServerMessage> fenMessages = new IdentityHashMap<>(2);
+        Map<ServerMessage, String> payloads = new IdentityHashMap<>(4);
         for (Map.Entry<String, Session> entry : gameSessions.entrySet()) {
             String token = entry.getKey();
             Session session = entry.getValue();
 
-            if (!session.isOpen()) {
+            if (!session.isOpen() || token.equals(exceptAuthToken)) {
                 continue;
             }
 
-            if (!token.equals(exceptAuthToken)) {
-                sendMessage(session, message);
+            ServerMessage message = inFormat(token, messageFor.apply(token), fenMessages);
+            String payload = payloads.computeIfAbsent(message, gson::toJson);
+            String snapshotPayload = null;
+            if (message.getServerMessageType() == ServerMessage.ServerMessageType.LOAD_GAME) {
+                snapshotPayload = payload;
+            } else if (snapshot != null) {
+                snapshotPayload = payloads.computeIfAbsent(inFormat(token, snapshot, fenMessages), gson::toJson);
             }
+            send(session, message.getServerMessageType(), payload, snapshotPayload);
         }
     }
 
+    /** 연결이 FEN 형식을 원하면 LOAD_GAME을 FEN 버전으로 바꿈 (메시지당 한 번만 생성) */
+    private ServerMessage inFormat(String authToken, ServerMessage message,
+                                   Map<ServerMessage, ServerMessage> fenMessages) {
+        if (!wantsFen(authToken, message)) {
+            return message;
+        }
+        return fenMessages.computeIfAbsent(message, m -> LoadGameMessage.fen(((LoadGameMessage) m).getGame()));
+    }
+
+    private boolean wantsFen(String authToken, ServerMessage message) {
+        return message instanceof LoadGameMessage load && load.getGame() != null
+                && POSITION_FORMATS.get(authToken) == PositionFormat.FEN;
+    }
+
     public String getUsername(String authToken) throws DataAccessException {
         String username = TOKEN_TO_USERNAME.get(authToken);
         if (username == null) {
@@ -6,15 +6,14 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import dataaccess.DataAccessException;
 import model.GameData;
-import model.AuthData;
 import dataaccess.AuthDAO;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.*;
+import websocket.commands.ConnectCommand;
 import websocket.commands.UserGameCommand;
 import websocket.commands.MakeMoveCommand;
 import websocket.messages.*;
 
-import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import service.GameService;
@@ -46,10 +45,11 @@ public class WebSocketHandler {
             Integer gameID = command.getGameID();
 
             switch (command.getCommandType()) {
-                case CONNECT -> handleConnect(authToken, gameID, session);
+                case CONNECT -> handleConnect(authToken, gameID, messageJson, session);
                 case MAKE_MOVE -> handleMakeMove(authToken, gameID, messageJson, session);
                 case LEAVE -> handleLeave(authToken, gameID);
                 case RESIGN -> handleResign(authToken, gameID);
+                case RESYNC -> handleResync(authToken, gameID, session);
             }
 
         } catch (Exception e) {
@@ -61,23 +61,21 @@ public class WebSocketHandler {
     @OnWebSocketClose
     public void onClose(Session session, int statusCode, String reason) {
         System.out.println("WebSocket closed: " + session);
+        communicator.closeSession(session);
     }
 
-    private void handleConnect(String authToken, Integer gameID, Session session) {
+    private void handleConnect(String authToken, Integer gameID, String json, Session session) {
         try {
-            System.out.println("handleConnect - authToken: " + authToken + ", gameID: " + gameID);
+            GameData gameData = gameService.observeGame(authToken, gameID);
+            ConnectCommand command = gson.fromJson(json, ConnectCommand.class);
+            communicator.addConnection(authToken, gameID, session, command.getPositionFormat(),
+                    command.wantsDeltaUpdates());
 
-            AuthData authData = communicator.getAuthDAO().getAuth(authToken);
-            System.out.println("Token lookup result: " + (authData == null ? "NOT FOUND" : authData.username()));
-
-            ChessGame game = gameService.getGame(gameID, authToken);
-            communicator.addConnection(authToken, gameID, session);
-
-            LoadGameMessage loadGame = new LoadGameMessage(game);
-            session.getRemote().sendString(gson.toJson(loadGame));
+            LoadGameMessage loadGame = new LoadGameMessage(gameData.game());
+            communicator.sendMessage(authToken, loadGame);
 
             String username = communicator.getUsername(authToken);
-            String playerColor = getPlayerColor(gameID, username);
+            String playerColor = getPlayerColor(gameData, username);
             String role = (playerColor != null) ? playerColor.toLowerCase() : "observer";
             String message = username + " connected as " + role;
 
@@ -89,8 +87,7 @@ public class WebSocketHandler {
         }
     }
 
-    private String getPlayerColor(int gameID, String username) throws DataAccessException {
-        var gameData = communicator.getGameDAO().getGame(gameID);
+    private String getPlayerColor(GameData gameData, String username) {
         if (username.equals(gameData.whiteUsername())) {
             return "WHITE";
         }
@@ -104,23 +101,10 @@ public class WebSocketHandler {
         try {
             MakeMoveCommand command = gson.fromJson(json, MakeMoveCommand.class);
 
-            AuthData authData = communicator.getAuthDAO().getAuth(authToken);
-            if (authData == null) {
-                sendError(session, "Error: invalid auth token");
-                return;
-            }
-
-            GameData existingGameData = communicator.getGameDAO().getGame(gameID);
-            ChessGame game = existingGameData.game();
-
-            if (game.isGameOver()) {
-                sendError(session, "Error: game already over");
-                return;
-            }
-
-            ChessGame updatedGame;
+            // 인증, 턴, 유효성 검사와 게임 종료 저장은 모두 게임 actor 안에서 순서대로 처리됨
+            GameData updatedGameData;
             try {
-                updatedGame = gameService.makeMove(gameID, authToken, command.getMove());
+                updatedGameData = gameService.makeMove(gameID, authToken, command.getMove());
             } catch (InvalidMoveException e) {
                 sendError(session, "Error: invalid move");
                 return;
@@ -128,9 +112,12 @@ public class WebSocketHandler {
                 sendError(session, e.getMessage());
                 return;
             }
+            ChessGame updatedGame = updatedGameData.game();
 
-            // 본인에게 LOAD_GAME
-            communicator.sendMessage(authToken, new LoadGameMessage(updatedGame));
+            // 본인에게 LOAD_GAME (delta 연결에는 MOVE)
+            LoadGameMessage snapshot = new LoadGameMessage(updatedGame);
+            MoveMessage delta = new MoveMessage(command.getMove(), updatedGame.getStatus(), updatedGame.getPlyCount());
+            communicator.sendGameUpdate(authToken, snapshot, delta);
 
             // 모두에게 Notification + LoadGame
             String username = communicator.getUsername(authToken);
@@ -138,41 +125,30 @@ public class WebSocketHandler {
                     command.getMove().getStartPosition() + " to " +
                     command.getMove().getEndPosition();
 
-            System.out.println("Sending Notification: " + msg);
             communicator.broadcastToGame(gameID, new NotificationMessage(msg), authToken);
-            communicator.broadcastToGame(gameID, new LoadGameMessage(updatedGame), authToken);
+            communicator.broadcastGameUpdate(gameID, snapshot, delta, authToken);
 
-            // Checkmate / Check 처리
+            // Checkmate / Stalemate / Check 처리 - 상태는 makeMove에서 한 번만 계산됨
             ChessGame.TeamColor opponent = updatedGame.getTeamTurn(); // 지금 차례인 팀 = 이전 move로 인해 check당한 쪽
             String opponentName = (opponent == ChessGame.TeamColor.WHITE)
-                    ? existingGameData.whiteUsername()
-                    : existingGameData.blackUsername();
-
-            if (updatedGame.isInCheckmate(opponent)) {
-                // 게임 종료
-                updatedGame.setGameOver(true);
-
-                // DB 업데이트
-                GameData updatedGameData = new GameData(
-                        existingGameData.gameID(),
-                        existingGameData.whiteUsername(),
-                        existingGameData.blackUsername(),
-                        existingGameData.gameName(),
-                        updatedGame
-                );
-                communicator.getGameDAO().updateGame(updatedGameData);
-
-                // 승자 이름
-                String winnerName = (opponent == ChessGame.TeamColor.WHITE)
-                        ? existingGameData.blackUsername()
-                        : existingGameData.whiteUsername();
-
-                // 알림 전송
-                communicator.broadcastToGame(gameID, new NotificationMessage("Checkmate!"), null);
-                communicator.broadcastToGame(gameID, new NotificationMessage(winnerName + " wins."), null);
-
-            } else if (updatedGame.isInCheck(opponent)) {
-                communicator.broadcastToGame(gameID, new NotificationMessage(opponentName + " is in check."), null);
+                    ? updatedGameData.whiteUsername()
+                    : updatedGameData.blackUsername();
+            ChessGame.GameStatus status = updatedGame.getStatus();
+
+            String statusMessage = switch (status) {
+                case CHECKMATE -> {
+                    String winnerName = (opponent == ChessGame.TeamColor.WHITE)
+                            ? updatedGameData.blackUsername()
+                            : updatedGameData.whiteUsername();
+                    yield "Checkmate! " + opponentName + " is in checkmate. " + winnerName + " wins.";
+                }
+                case STALEMATE -> "Stalemate! " + opponentName + " has no legal moves. The game is a draw.";
+                case DRAW -> "The game is a draw " + drawReason(updatedGame) + ".";
+                case CHECK -> opponentName + " is in check.";
+                case ONGOING -> null;
+            };
+            if (statusMessage != null) {
+                communicator.broadcastToGame(gameID, new NotificationMessage(statusMessage), null);
             }
 
         } catch (Exception e) {
@@ -181,9 +157,25 @@ public class WebSocketHandler {
         }
     }
 
+    private static String drawReason(ChessGame game) {
+        if (game.isThreefoldRepetition()) {
+            return "by threefold repetition";
+        }
+        if (game.isFiftyMoveDraw()) {
+            return "by the fifty-move rule";
+        }
+        return "by insufficient material";
+    }
 
-
-
+    /** 클라이언트가 MOVE 순서가 끊긴 것을 발견했을 때 전체 게임 상태를 다시 전송 */
+    private void handleResync(String authToken, Integer gameID, Session session) {
+        try {
+            ChessGame game = gameService.getGame(gameID, authToken);
+            communicator.sendMessage(authToken, new LoadGameMessage(game));
+        } catch (DataAccessException e) {
+            sendError(session, "Error: " + e.getMessage());
+        }
+    }
 
     private void sendErrorToToken(String authToken, String message) {
         communicator.sendMessage(authToken, new ErrorMessage(message));
@@ -205,41 +197,13 @@ public class WebSocketHandler {
         }
     }
 
-
-
-
     private void handleResign(String authToken, Integer gameID) {
         try {
-            AuthData authData = communicator.getAuthDAO().getAuth(authToken);
-            if (authData == null) {
-                sendErrorToToken(authToken, "Error: invalid authToken");
-                return;
-            }
-
-            GameData gameData = communicator.getGameDAO().getGame(gameID);
-            if (gameData == null) {
-                sendErrorToToken(authToken, "Error: invalid game ID");
-                return;
-            }
+            String username = communicator.getUsername(authToken);
 
-            String username = authData.username();
+            // 검사와 게임 종료 저장은 게임 actor 안에서 처리됨
+            GameData gameData = gameService.resign(gameID, authToken);
             boolean isWhite = username.equals(gameData.whiteUsername());
-            boolean isBlack = username.equals(gameData.blackUsername());
-
-            if (!isWhite && !isBlack) {
-                sendErrorToToken(authToken, "Error: observers can't resign");
-                return;
-            }
-
-            if (gameData.game().isGameOver()) {
-                sendErrorToToken(authToken, "Error: game already over");
-                return;
-            }
-
-            // 게임 종료 처리 후 DB 업데이트
-            gameData.game().setGameOver(true);
-            communicator.getGameDAO().updateGame(gameData);
-
             String winner = isWhite ? gameData.blackUsername() : gameData.whiteUsername();
             String resignMessage = username + " resigned. " + winner + " wins.";
 
@@ -251,16 +215,8 @@ public class WebSocketHandler {
         }
     }
 
-
-
-
-
     private void sendError(Session session, String message) {
-        try {
-            String json = gson.toJson(new ErrorMessage(message));
-            session.getRemote().sendString(json);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        // 같은 세션의 다른 메시지와 순서가 섞이지 않도록 outbound 큐를 거침
+        communicator.sendMessage(session, new ErrorMessage(message));
     }
 }
\ No newline at end of file
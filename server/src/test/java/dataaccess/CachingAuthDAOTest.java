@@ -0,0 +1,79 @@
+package dataaccess;
+
+import model.AuthData;
+import model.UserData;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingAuthDAOTest {
+    private MySQLAuthDAO mySQLAuthDAO;
+    private CachingAuthDAO authDAO;
+
+    @BeforeEach
+    void setup() throws DataAccessException {
+        MySQLUserDAO userDAO = new MySQLUserDAO();
+        mySQLAuthDAO = new MySQLAuthDAO();
+        authDAO = new CachingAuthDAO(mySQLAuthDAO, 2, 60_000);
+        authDAO.clear();
+        userDAO.clear();
+        userDAO.insertUser(new UserData("testUser", "password", "test@example.com"));
+    }
+
+    @Test
+    @DisplayName("✅ getAuth - 두 번째 조회부터는 캐시에서")
+    void testGetAuthIsCached() throws DataAccessException {
+        mySQLAuthDAO.createAuth(new AuthData("token1", "testUser"));
+
+        assertEquals("testUser", authDAO.getAuth("token1").username());
+        assertEquals("testUser", authDAO.getAuth("token1").username());
+
+        CachingAuthDAO.Stats stats = authDAO.stats();
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.hits());
+        assertEquals(0.5, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("✅ deleteAuth / clear - 캐시도 바로 무효화")
+    void testDeleteAndClearInvalidate() throws DataAccessException {
+        authDAO.createAuth(new AuthData("token1", "testUser"));
+        authDAO.createAuth(new AuthData("token2", "testUser"));
+        assertNotNull(authDAO.getAuth("token1"));
+
+        authDAO.deleteAuth("token1");
+        assertNull(authDAO.getAuth("token1"));
+
+        authDAO.clear();
+        assertNull(authDAO.getAuth("token2"));
+        assertEquals(0, authDAO.stats().size());
+    }
+
+    @Test
+    @DisplayName("✅ 최대 크기를 넘으면 가장 오래 쓰이지 않은 토큰부터 제거")
+    void testEvictsLeastRecentlyUsed() throws DataAccessException {
+        authDAO.createAuth(new AuthData("token1", "testUser"));
+        authDAO.createAuth(new AuthData("token2", "testUser"));
+        authDAO.getAuth("token1");
+        authDAO.createAuth(new AuthData("token3", "testUser"));
+
+        assertEquals(2, authDAO.stats().size());
+        assertEquals(1, authDAO.stats().evictions());
+        authDAO.getAuth("token1");
+        assertEquals(0, authDAO.stats().misses());
+        authDAO.getAuth("token2");
+        assertEquals(1, authDAO.stats().misses());
+    }
+
+    @Test
+    @DisplayName("❌ 만료된 토큰은 다시 DB에서 확인")
+    void testExpiredEntryIsReloaded() throws Exception {
+        CachingAuthDAO shortLived = new CachingAuthDAO(mySQLAuthDAO, 10, 1);
+        shortLived.createAuth(new AuthData("token1", "testUser"));
+        mySQLAuthDAO.deleteAuth("token1");
+        Thread.sleep(5);
+
+        assertNull(shortLived.getAuth("token1"));
+        assertEquals(1, shortLived.stats().expirations());
+    }
+}
@@ -0,0 +1,72 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+    private ConnectionPool pool;
+
+    @BeforeAll
+    static void createDatabase() {
+        DatabaseManager.initializeDatabase();
+    }
+
+    @BeforeEach
+    void setup() {
+        pool = new ConnectionPool(DatabaseManager::openConnection, 2, 60_000, 100, "SELECT 1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    @DisplayName("✅ 반환된 연결은 새로 열지 않고 재사용")
+    void testReusesReturnedConnections() throws SQLException {
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = pool.acquire()) {
+                assertTrue(conn.isValid(1));
+            }
+        }
+
+        ConnectionPool.Stats stats = pool.stats();
+        assertEquals(1, stats.created());
+        assertEquals(5, stats.acquired());
+        assertEquals(1, stats.idle());
+        assertEquals(0, stats.inUse());
+    }
+
+    @Test
+    @DisplayName("❌ 풀이 가득 차면 acquire timeout 후 실패")
+    void testAcquireTimesOutWhenExhausted() throws SQLException {
+        try (Connection first = pool.acquire(); Connection second = pool.acquire()) {
+            assertThrows(SQLException.class, () -> pool.acquire());
+            assertEquals(1, pool.stats().timeouts());
+            assertEquals(2, pool.stats().inUse());
+        }
+        try (Connection again = pool.acquire()) {
+            assertFalse(again.isClosed());
+        }
+    }
+
+    @Test
+    @DisplayName("✅ 반환된 연결은 다시 쓸 수 없고, 트랜잭션은 롤백되어 돌아옴")
+    void testReturnedConnectionIsReset() throws SQLException {
+        Connection conn = pool.acquire();
+        conn.setAutoCommit(false);
+        conn.close();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+        try (Connection reused = pool.acquire()) {
+            assertTrue(reused.getAutoCommit());
+        }
+        assertEquals(1, pool.stats().created());
+    }
+}
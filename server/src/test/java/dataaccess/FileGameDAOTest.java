@@ -0,0 +1,85 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import model.GameData;
+import model.GameSummary;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGameDAOTest {
+    private static final long NEVER = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    private LogStore open() throws DataAccessException {
+        return LogStore.open(dir, "games", false, NEVER, 0);
+    }
+
+    @Test
+    @DisplayName("✅ 다시 열어도 게임 상태, 목록, 다음 gameID가 이어짐")
+    void testGamesSurviveReopen() throws Exception {
+        int first;
+        try (LogStore store = open()) {
+            FileGameDAO dao = new FileGameDAO(store);
+            first = dao.createGame(new GameData(0, "white", null, "First", new ChessGame()));
+            GameData game = dao.getGame(first);
+            game.game().makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+            dao.updateGame(game);
+        }
+
+        try (LogStore store = open()) {
+            FileGameDAO dao = new FileGameDAO(store);
+            GameData game = dao.getGame(first);
+            assertEquals("white", game.whiteUsername());
+            assertEquals(1, game.game().getPlyCount());
+            assertEquals(List.of(new GameSummary(first, "white", null, "First")), dao.listGameSummaries());
+
+            int second = dao.createGame(new GameData(0, null, null, "Second", new ChessGame()));
+            assertEquals(first + 1, second);
+        }
+    }
+
+    @Test
+    @DisplayName("✅ listGameSummaries(query) - 로그를 읽지 않고 필터 / 커서 적용")
+    void testQueryUsesMetadata() throws Exception {
+        try (LogStore store = open()) {
+            FileGameDAO dao = new FileGameDAO(store);
+            int open = dao.createGame(new GameData(0, "white", null, "Open", new ChessGame()));
+            int full = dao.createGame(new GameData(0, "white", "black", "Full", new ChessGame()));
+            GameData finished = dao.getGame(full);
+            finished.game().setGameOver(true);
+            dao.updateGames(List.of(finished));
+
+            assertEquals(List.of(open), ids(dao, new GameQuery(0, 10, true, null, null)));
+            assertEquals(List.of(full), ids(dao, new GameQuery(0, 10, false, "black", true)));
+            assertEquals(List.of(full), ids(dao, new GameQuery(open, 10, false, "white", null)));
+        }
+    }
+
+    @Test
+    @DisplayName("❌ updateGame - 없는 게임은 업데이트 실패, clear 후 gameID는 1부터")
+    void testUpdateMissingAndClear() throws Exception {
+        try (LogStore store = open()) {
+            FileGameDAO dao = new FileGameDAO(store);
+            dao.createGame(new GameData(0, null, null, "Cleared", new ChessGame()));
+            dao.clear();
+
+            assertThrows(DataAccessException.class,
+                    () -> dao.updateGame(new GameData(1, null, null, "Cleared", new ChessGame())));
+            assertTrue(dao.listGames().isEmpty());
+            assertEquals(1, dao.createGame(new GameData(0, null, null, "Fresh", new ChessGame())));
+        }
+    }
+
+    private static List<Integer> ids(FileGameDAO dao, GameQuery query) {
+        return dao.listGameSummaries(query).games().stream().map(GameSummary::gameID).toList();
+    }
+}
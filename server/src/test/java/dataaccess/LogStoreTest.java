@@ -0,0 +1,135 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogStoreTest {
+    private static final long NEVER = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    private LogStore open() throws DataAccessException {
+        return LogStore.open(dir, "test", false, NEVER, 0);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return (value == null) ? null : new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("✅ 다시 열어도 마지막 값과 삭제가 그대로 남음")
+    void testReopenKeepsLatestValues() throws DataAccessException {
+        try (LogStore store = open()) {
+            store.put("a", bytes("1"));
+            store.put("a", bytes("2"));
+            store.put("b", bytes("3"));
+            store.delete("b");
+            assertFalse(store.insert("a", bytes("x")));
+        }
+
+        try (LogStore store = open()) {
+            assertEquals("2", string(store.get("a")));
+            assertNull(store.get("b"));
+            assertEquals(1, store.stats().keys());
+        }
+    }
+
+    @Test
+    @DisplayName("✅ 인덱스 저장 이후에 추가된 기록도 다시 열 때 반영")
+    void testReplaysRecordsAfterSavedIndex() throws Exception {
+        try (LogStore store = open()) {
+            store.put("a", bytes("1"));
+        }
+        // 인덱스는 닫을 때만 저장되므로, 닫지 않고 쓴 기록은 로그에서 다시 읽어야 함
+        LogStore crashed = open();
+        crashed.put("b", bytes("2"));
+
+        try (LogStore store = open()) {
+            assertEquals("1", string(store.get("a")));
+            assertEquals("2", string(store.get("b")));
+        }
+        crashed.close();
+    }
+
+    @Test
+    @DisplayName("✅ 쓰다 만 마지막 기록은 잘라내고 나머지는 유지")
+    void testTruncatesTornTail() throws DataAccessException, IOException {
+        try (LogStore store = open()) {
+            store.put("kept", bytes("value"));
+        }
+        Path log = dir.resolve("test.log");
+        long goodSize = Files.size(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (LogStore store = open()) {
+            assertEquals("value", string(store.get("kept")));
+            assertEquals(goodSize, Files.size(log));
+            store.put("next", bytes("after"));
+        }
+        try (LogStore store = open()) {
+            assertEquals("after", string(store.get("next")));
+        }
+    }
+
+    @Test
+    @DisplayName("✅ 압축 후 죽은 기록은 사라지고 살아있는 값은 유지")
+    void testCompactionDropsDeadRecords() throws DataAccessException {
+        try (LogStore store = open()) {
+            for (int i = 0; i < 100; i++) {
+                store.put("game", bytes("move " + i));
+            }
+            store.put("other", bytes("x"));
+            store.delete("other");
+            long before = store.stats().logBytes();
+            assertTrue(store.stats().deadBytes() > 0);
+
+            store.compact();
+
+            assertEquals(0, store.stats().deadBytes());
+            assertTrue(store.stats().logBytes() < before / 10);
+            assertEquals("move 99", string(store.get("game")));
+            store.put("after", bytes("compaction"));
+        }
+
+        try (LogStore store = open()) {
+            assertEquals("move 99", string(store.get("game")));
+            assertEquals("compaction", string(store.get("after")));
+            assertNull(store.get("other"));
+        }
+    }
+
+    @Test
+    @DisplayName("✅ clear 후 다시 열면 비어 있음 (예전 인덱스 무시)")
+    void testClearIgnoresOldIndex() throws DataAccessException {
+        try (LogStore store = open()) {
+            store.put("a", bytes("1"));
+        }
+        LogStore store = open();
+        store.clear();
+        store.put("b", bytes("2"));
+
+        // 닫지 않았으므로 예전 인덱스 파일은 없고, 로그만으로 복구
+        try (LogStore reopened = open()) {
+            assertNull(reopened.get("a"));
+            assertEquals("2", string(reopened.get("b")));
+        }
+        store.close();
+    }
+}
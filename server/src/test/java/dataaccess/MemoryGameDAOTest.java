@@ -0,0 +1,94 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import model.GameData;
+import model.GameSummary;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryGameDAOTest {
+    private MemoryGameDAO gameDAO;
+
+    @BeforeEach
+    void setup() {
+        gameDAO = new MemoryGameDAO();
+    }
+
+    @Test
+    @DisplayName("✅ createGame - 동시에 생성해도 gameID가 겹치지 않음")
+    void testConcurrentCreatesGetUniqueIDs() throws Exception {
+        int threads = 8;
+        int perThread = 250;
+        List<Future<List<Integer>>> results = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    List<Integer> ids = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        ids.add(gameDAO.createGame(new GameData(0, null, null, "Game", new ChessGame())));
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (Future<List<Integer>> result : results) {
+            ids.addAll(result.get());
+        }
+        assertEquals(threads * perThread, ids.size());
+        assertEquals(threads * perThread, gameDAO.listGames().size());
+    }
+
+    @Test
+    @DisplayName("✅ getGame / listGames - 읽은 게임을 바꿔도 저장된 게임은 그대로")
+    void testReadsReturnCopies() throws Exception {
+        int gameID = gameDAO.createGame(new GameData(0, null, null, "Copied", new ChessGame()));
+
+        GameData read = gameDAO.getGame(gameID);
+        read.game().makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        gameDAO.listGames().get(0).game().setGameOver(true);
+
+        assertEquals(0, gameDAO.getGame(gameID).game().getPlyCount());
+        assertFalse(gameDAO.getGame(gameID).game().isGameOver());
+
+        gameDAO.updateGame(read);
+        assertEquals(1, gameDAO.getGame(gameID).game().getPlyCount());
+    }
+
+    @Test
+    @DisplayName("❌ updateGame - 없는 게임은 업데이트 실패")
+    void testUpdateMissingGameFails() throws DataAccessException {
+        assertThrows(DataAccessException.class,
+                () -> gameDAO.updateGame(new GameData(42, null, null, "Missing", new ChessGame())));
+        assertTrue(gameDAO.listGameSummaries().isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ listGameSummaries(query) - 커서 이후의 조건에 맞는 게임만 순서대로")
+    void testListGameSummariesPages() throws DataAccessException {
+        int first = gameDAO.createGame(new GameData(0, "alice", null, "First", new ChessGame()));
+        gameDAO.createGame(new GameData(0, "alice", "bob", "Full", new ChessGame()));
+        int third = gameDAO.createGame(new GameData(0, null, "bob", "Third", new ChessGame()));
+        int fourth = gameDAO.createGame(new GameData(0, null, null, "Fourth", new ChessGame()));
+
+        GamePage page = gameDAO.listGameSummaries(new GameQuery(0, 2, true, null, null));
+        assertEquals(List.of(first, third), page.games().stream().map(GameSummary::gameID).toList());
+        assertEquals(third, page.nextCursor());
+
+        page = gameDAO.listGameSummaries(new GameQuery(page.nextCursor(), 2, true, null, null));
+        assertEquals(List.of(fourth), page.games().stream().map(GameSummary::gameID).toList());
+        assertNull(page.nextCursor());
+    }
+}
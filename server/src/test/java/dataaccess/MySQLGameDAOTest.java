@@ -1,10 +1,15 @@
 package dataaccess;
 
 import model.GameData;
+import model.GameSummary;
 import model.UserData;
 import chess.ChessGame;
 import org.junit.jupiter.api.*;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,5 +84,95 @@ class MySQLGameDAOTest {
         gameDAO.clear();
         assertTrue(gameDAO.listGames().isEmpty());
     }
-}
 
+    @Test
+    @DisplayName("migrateGameStates - JSON 게임 상태를 binary로 변환")
+    void testMigrateGameStates() throws DataAccessException {
+        MySQLGameDAO jsonDAO = new MySQLGameDAO(GameStateFormat.JSON);
+        MySQLGameDAO binaryDAO = new MySQLGameDAO(GameStateFormat.BINARY);
+        ChessGame game = new ChessGame();
+        int gameID = jsonDAO.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Old Game", game));
+
+        // 두 DAO 모두 JSON 행을 읽을 수 있어야 함
+        assertEquals(game.getBoard(), binaryDAO.getGame(gameID).game().getBoard());
+
+        assertEquals(1, binaryDAO.migrateGameStates());
+        assertEquals(0, binaryDAO.migrateGameStates());
+        assertEquals(game.getBoard(), jsonDAO.getGame(gameID).game().getBoard());
+        assertEquals("Old Game", binaryDAO.getGame(gameID).gameName());
+    }
+
+    @Test
+    @DisplayName("migrateGameStates - 읽을 수 없는 행이 있으면 전체 롤백")
+    void testMigrateGameStatesRollsBack() throws DataAccessException, SQLException {
+        MySQLGameDAO jsonDAO = new MySQLGameDAO(GameStateFormat.JSON);
+        MySQLGameDAO binaryDAO = new MySQLGameDAO(GameStateFormat.BINARY);
+        int goodID = jsonDAO.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Good", new ChessGame()));
+        int badID = jsonDAO.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Bad", new ChessGame()));
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("UPDATE games SET gameState = '{broken' WHERE gameID = ?")) {
+            stmt.setInt(1, badID);
+            stmt.executeUpdate();
+        }
+
+        assertThrows(DataAccessException.class, binaryDAO::migrateGameStates);
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT gameState FROM games WHERE gameID = ?")) {
+            stmt.setInt(1, goodID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(GameStateFormat.JSON, GameStateFormat.of(rs.getString(1)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("listGameSummaries - 게임 상태 없이 목록 조회")
+    void testListGameSummaries() throws DataAccessException {
+        int gameID = gameDAO.createGame(new GameData(0, "whitePlayer", null, "Summary Game", new ChessGame()));
+
+        List<GameSummary> summaries = gameDAO.listGameSummaries();
+        assertEquals(List.of(new GameSummary(gameID, "whitePlayer", null, "Summary Game")), summaries);
+    }
+
+    @Test
+    @DisplayName("✅ listGameSummaries(query) - gameID 커서로 페이지 나눠 조회")
+    void testListGameSummariesPages() throws DataAccessException {
+        int first = gameDAO.createGame(new GameData(0, null, null, "First", new ChessGame()));
+        int second = gameDAO.createGame(new GameData(0, null, null, "Second", new ChessGame()));
+        int third = gameDAO.createGame(new GameData(0, null, null, "Third", new ChessGame()));
+
+        GamePage page = gameDAO.listGameSummaries(new GameQuery(0, 2, false, null, null));
+        assertEquals(List.of(first, second), page.games().stream().map(GameSummary::gameID).toList());
+        assertEquals(second, page.nextCursor());
+
+        page = gameDAO.listGameSummaries(new GameQuery(page.nextCursor(), 2, false, null, null));
+        assertEquals(List.of(third), page.games().stream().map(GameSummary::gameID).toList());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("✅ listGameSummaries(query) - 빈 자리 / 플레이어 / 종료 여부 필터")
+    void testListGameSummariesFilters() throws DataAccessException {
+        int open = gameDAO.createGame(new GameData(0, "whitePlayer", null, "Open", new ChessGame()));
+        int full = gameDAO.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Full", new ChessGame()));
+        ChessGame over = new ChessGame();
+        over.setGameOver(true);
+        int finished = gameDAO.createGame(new GameData(0, null, "blackPlayer", "Finished", over));
+
+        assertEquals(List.of(open, finished), ids(new GameQuery(0, 10, true, null, null)));
+        assertEquals(List.of(full, finished), ids(new GameQuery(0, 10, false, "blackPlayer", null)));
+        assertEquals(List.of(finished), ids(new GameQuery(0, 10, false, null, true)));
+        assertEquals(List.of(open), ids(new GameQuery(0, 10, true, "whitePlayer", false)));
+
+        // 게임이 끝나면 gameOver 컬럼도 갱신됨
+        GameData game = gameDAO.getGame(full);
+        game.game().setGameOver(true);
+        gameDAO.updateGame(game);
+        assertEquals(List.of(full, finished), ids(new GameQuery(0, 10, false, null, true)));
+    }
+
+    private static List<Integer> ids(GameQuery query) throws DataAccessException {
+        return gameDAO.listGameSummaries(query).games().stream().map(GameSummary::gameID).toList();
+    }
+}
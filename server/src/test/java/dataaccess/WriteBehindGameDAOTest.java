@@ -0,0 +1,163 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import model.GameData;
+import model.UserData;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindGameDAOTest {
+    private static final long NEVER = 3_600_000;
+
+    private MySQLGameDAO mySQLGameDAO;
+    private MySQLUserDAO userDAO;
+
+    @BeforeEach
+    void setup() throws DataAccessException {
+        mySQLGameDAO = new MySQLGameDAO();
+        userDAO = new MySQLUserDAO();
+        mySQLGameDAO.clear();
+        userDAO.clear();
+        userDAO.insertUser(new UserData("whitePlayer", "password", "white@example.com"));
+        userDAO.insertUser(new UserData("blackPlayer", "password", "black@example.com"));
+    }
+
+    private static GameData moved(GameData game, int fromRow, int toRow, int col) throws InvalidMoveException {
+        ChessGame chess = game.game();
+        chess.makeMove(new ChessMove(ChessPosition.of(fromRow, col), ChessPosition.of(toRow, col), null));
+        return game;
+    }
+
+    @Test
+    @DisplayName("✅ batched - 같은 게임의 업데이트는 하나로 합쳐져 flush 때 저장")
+    void testBatchedCoalescesUntilFlush() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.BATCHED, NEVER, 100);
+        int gameID = dao.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Batched", new ChessGame()));
+
+        GameData game = mySQLGameDAO.getGame(gameID);
+        dao.updateGame(moved(game, 2, 4, 5));
+        dao.updateGame(moved(game, 7, 5, 5));
+
+        assertEquals(1, dao.pendingCount());
+        assertEquals(ChessGame.TeamColor.WHITE, mySQLGameDAO.getGame(gameID).game().getTeamTurn());
+        // 아직 저장되지 않은 업데이트도 읽기에는 보임
+        assertEquals(ChessGame.TeamColor.WHITE, dao.getGame(gameID).game().getTeamTurn());
+        assertEquals(2, dao.getGame(gameID).game().getPlyCount());
+        List<GameData> listed = dao.listGames();
+        assertEquals(2, listed.get(0).game().getPlyCount());
+
+        dao.close();
+        assertEquals(0, dao.pendingCount());
+        assertEquals(2, mySQLGameDAO.getGame(gameID).game().getPlyCount());
+    }
+
+    @Test
+    @DisplayName("✅ batched - 배치 크기에 도달하면 바로 저장")
+    void testBatchedFlushesAtBatchSize() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.BATCHED, NEVER, 2);
+        int first = dao.createGame(new GameData(0, null, null, "First", new ChessGame()));
+        int second = dao.createGame(new GameData(0, null, null, "Second", new ChessGame()));
+
+        dao.updateGame(moved(mySQLGameDAO.getGame(first), 2, 4, 1));
+        assertEquals(1, dao.pendingCount());
+        dao.updateGame(moved(mySQLGameDAO.getGame(second), 2, 4, 2));
+
+        assertEquals(0, dao.pendingCount());
+        assertEquals(1, mySQLGameDAO.getGame(first).game().getPlyCount());
+        assertEquals(1, mySQLGameDAO.getGame(second).game().getPlyCount());
+    }
+
+    @Test
+    @DisplayName("✅ on_game_end - 자리 변경과 게임 종료만 바로 저장")
+    void testOnGameEndWritesSeatsAndFinishedGames() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.ON_GAME_END);
+        int gameID = dao.createGame(new GameData(0, null, null, "Seats", new ChessGame()));
+
+        GameData game = mySQLGameDAO.getGame(gameID);
+        dao.updateGame(new GameData(gameID, "whitePlayer", null, "Seats", game.game()));
+        assertEquals("whitePlayer", mySQLGameDAO.getGame(gameID).whiteUsername());
+
+        GameData joined = new GameData(gameID, "whitePlayer", null, "Seats", game.game());
+        dao.updateGame(moved(joined, 2, 4, 5));
+        assertEquals(1, dao.pendingCount());
+        assertEquals(0, mySQLGameDAO.getGame(gameID).game().getPlyCount());
+
+        joined.game().setGameOver(true);
+        dao.updateGame(joined);
+        assertEquals(0, dao.pendingCount());
+        assertTrue(mySQLGameDAO.getGame(gameID).game().isGameOver());
+    }
+
+    @Test
+    @DisplayName("✅ on_game_end - 대기 중인 게임이 배치 크기에 도달하면 바로 저장")
+    void testOnGameEndCapsPendingGames() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.ON_GAME_END, NEVER, 2);
+        int first = dao.createGame(new GameData(0, null, null, "First", new ChessGame()));
+        int second = dao.createGame(new GameData(0, null, null, "Second", new ChessGame()));
+
+        // 첫 업데이트는 자리 기록이라 바로 저장
+        dao.updateGame(mySQLGameDAO.getGame(first));
+        dao.updateGame(mySQLGameDAO.getGame(second));
+
+        dao.updateGame(moved(mySQLGameDAO.getGame(first), 2, 4, 1));
+        assertEquals(1, dao.pendingCount());
+        dao.updateGame(moved(mySQLGameDAO.getGame(second), 2, 4, 2));
+
+        assertEquals(0, dao.pendingCount());
+        assertEquals(1, mySQLGameDAO.getGame(first).game().getPlyCount());
+        assertEquals(1, mySQLGameDAO.getGame(second).game().getPlyCount());
+        dao.close();
+    }
+
+    @Test
+    @DisplayName("✅ on_game_end - 진행 중인 게임도 주기마다 저장")
+    void testOnGameEndCheckpointsPeriodically() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.ON_GAME_END, 50, 100);
+        int gameID = dao.createGame(new GameData(0, null, null, "Checkpoint", new ChessGame()));
+        dao.updateGame(mySQLGameDAO.getGame(gameID));
+
+        dao.updateGame(moved(mySQLGameDAO.getGame(gameID), 2, 4, 5));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (mySQLGameDAO.getGame(gameID).game().getPlyCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, mySQLGameDAO.getGame(gameID).game().getPlyCount());
+        assertEquals(0, dao.pendingCount());
+        dao.close();
+    }
+
+    @Test
+    @DisplayName("✅ clear - 저장되지 않은 업데이트도 함께 버림")
+    void testClearDropsPendingUpdates() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.BATCHED, NEVER, 100);
+        int gameID = dao.createGame(new GameData(0, null, null, "Cleared", new ChessGame()));
+        dao.updateGame(moved(mySQLGameDAO.getGame(gameID), 2, 4, 5));
+
+        dao.clear();
+        assertEquals(0, dao.pendingCount());
+        assertNull(dao.getGame(gameID));
+        dao.close();
+        assertTrue(mySQLGameDAO.listGames().isEmpty());
+    }
+
+    @Test
+    @DisplayName("✅ batched - 저장되지 않은 자리 변경도 목록 필터에 반영")
+    void testQueryMatchesPendingUpdates() throws Exception {
+        WriteBehindGameDAO dao = new WriteBehindGameDAO(mySQLGameDAO, GameWriteMode.BATCHED, NEVER, 100);
+        int open = dao.createGame(new GameData(0, "whitePlayer", null, "Open", new ChessGame()));
+        int full = dao.createGame(new GameData(0, "whitePlayer", "blackPlayer", "Full", new ChessGame()));
+
+        dao.updateGame(new GameData(open, "whitePlayer", "blackPlayer", "Open", new ChessGame()));
+        dao.updateGame(new GameData(full, "whitePlayer", null, "Full", new ChessGame()));
+
+        GamePage page = dao.listGameSummaries(new GameQuery(0, 10, true, null, null));
+        assertEquals(List.of(full), page.games().stream().map(model.GameSummary::gameID).toList());
+        dao.close();
+    }
+}
@@ -1,5 +1,8 @@
 package service;
 
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
 import dataaccess.*;
 import model.AuthData;
 import model.GameData;
@@ -8,6 +11,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -96,4 +102,79 @@ public class GameServiceTest {
 
         assertThrows(DataAccessException.class, () -> gameService.joinGame(authToken, game.gameID(), "WHITE"));
     }
+
+    @Test
+    void testConcurrentJoinOnlyOneSucceeds() throws Exception {
+        String otherToken = userService.register(new UserData("player2", "chess456", "player2@example.com")).authToken();
+        GameData game = gameService.createGame(authToken, "Race");
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> joins = List.of(
+                    pool.submit(() -> tryJoin(authToken, game.gameID())),
+                    pool.submit(() -> tryJoin(otherToken, game.gameID())));
+            int succeeded = 0;
+            for (Future<Boolean> join : joins) {
+                succeeded += join.get() ? 1 : 0;
+            }
+            assertEquals(1, succeeded);
+        } finally {
+            pool.shutdown();
+        }
+        assertNotNull(gameDAO.getGame(game.gameID()).whiteUsername());
+    }
+
+    @Test
+    void testMakeMoveIsSavedInBackground() throws Exception {
+        GameActors actors = new GameActors(gameDAO);
+        GameService service = new GameService(gameDAO, authDAO, actors);
+        String otherToken = userService.register(new UserData("player2", "chess456", "player2@example.com")).authToken();
+        GameData game = service.createGame(authToken, "Moves");
+        service.joinGame(authToken, game.gameID(), "WHITE");
+        service.joinGame(otherToken, game.gameID(), "BLACK");
+
+        ChessMove move = new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        GameData moved = service.makeMove(game.gameID(), authToken, move);
+        assertEquals(ChessGame.TeamColor.BLACK, moved.game().getTeamTurn());
+        assertEquals(ChessGame.TeamColor.BLACK, service.getGame(game.gameID(), otherToken).getTeamTurn());
+        assertThrows(DataAccessException.class, () -> service.makeMove(game.gameID(), authToken, move));
+
+        // 남은 저장을 모두 끝낸 뒤에는 DB에도 반영되어 있어야 함
+        actors.close();
+        assertEquals(ChessGame.TeamColor.BLACK, gameDAO.getGame(game.gameID()).game().getTeamTurn());
+    }
+
+    @Test
+    void testGameEndIsSavedBeforeMoveReturnsEvenWhenDaoBatches() throws Exception {
+        WriteBehindGameDAO batched = new WriteBehindGameDAO(gameDAO, GameWriteMode.BATCHED, 3_600_000, 100);
+        GameActors actors = new GameActors(batched);
+        GameService service = new GameService(batched, authDAO, actors);
+        String otherToken = userService.register(new UserData("player2", "chess456", "player2@example.com")).authToken();
+        GameData game = service.createGame(authToken, "Fool's mate");
+        service.joinGame(authToken, game.gameID(), "WHITE");
+        service.joinGame(otherToken, game.gameID(), "BLACK");
+        // 자리 변경은 DAO의 배치를 기다리지 않고 바로 저장
+        assertEquals("player2", gameDAO.getGame(game.gameID()).blackUsername());
+
+        service.makeMove(game.gameID(), authToken, new ChessMove(ChessPosition.of(2, 6), ChessPosition.of(3, 6), null));
+        service.makeMove(game.gameID(), otherToken, new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null));
+        service.makeMove(game.gameID(), authToken, new ChessMove(ChessPosition.of(2, 7), ChessPosition.of(4, 7), null));
+        GameData mated = service.makeMove(game.gameID(), otherToken,
+                new ChessMove(ChessPosition.of(8, 4), ChessPosition.of(4, 8), null));
+        assertTrue(mated.game().isGameOver());
+
+        // makeMove가 반환된 시점에 체크메이트가 batched DAO 아래의 DB에 이미 있어야 함
+        assertTrue(gameDAO.getGame(game.gameID()).game().isGameOver());
+        actors.close();
+        batched.close();
+    }
+
+    private boolean tryJoin(String token, int gameID) {
+        try {
+            gameService.joinGame(token, gameID, "WHITE");
+            return true;
+        } catch (DataAccessException e) {
+            return false;
+        }
+    }
 }
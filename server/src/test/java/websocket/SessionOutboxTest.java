@@ -0,0 +1,178 @@
+package websocket;
+
+import org.eclipse.jetty.websocket.api.RemoteEndpoint;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WriteCallback;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import websocket.messages.ServerMessage.ServerMessageType;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionOutboxTest {
+
+    /** write가 끝나지 않는 느린 세션: 콜백은 테스트에서 직접 완료 */
+    private final List<String> sent = new ArrayList<>();
+    private final ArrayDeque<WriteCallback> inFlight = new ArrayDeque<>();
+    private boolean closed;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        RemoteEndpoint remote = (RemoteEndpoint) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("sendString") && args.length == 2) {
+                        sent.add((String) args[0]);
+                        inFlight.add((WriteCallback) args[1]);
+                    }
+                    return null;
+                });
+        session = (Session) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Session.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getRemote" -> remote;
+                    case "isOpen" -> !closed;
+                    case "close" -> {
+                        closed = true;
+                        yield null;
+                    }
+                    default -> null;
+                });
+    }
+
+    private void completeWrites() {
+        while (!inFlight.isEmpty()) {
+            inFlight.poll().writeSuccess();
+        }
+    }
+
+    @Test
+    void sendsInOrderOneWriteAtATime() {
+        SessionOutbox outbox = new SessionOutbox(session, 8, SlowConsumerPolicy.DROP_STALE_STATES);
+        outbox.offer(ServerMessageType.NOTIFICATION, "a");
+        outbox.offer(ServerMessageType.LOAD_GAME, "b");
+        outbox.offer(ServerMessageType.NOTIFICATION, "c");
+
+        assertEquals(List.of("a"), sent);
+        assertEquals(2, outbox.size());
+
+        completeWrites();
+        assertEquals(List.of("a", "b", "c"), sent);
+        assertEquals(0, outbox.size());
+    }
+
+    @Test
+    void dropStaleStatesDropsOldestBoardState() {
+        SessionOutbox outbox = new SessionOutbox(session, 2, SlowConsumerPolicy.DROP_STALE_STATES);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.NOTIFICATION, "n1");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g1");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g2");
+
+        assertEquals(1, outbox.dropped());
+        completeWrites();
+        assertEquals(List.of("in-flight", "n1", "g2"), sent);
+    }
+
+    @Test
+    void coalesceKeepsOnlyLatestSnapshot() {
+        SessionOutbox outbox = new SessionOutbox(session, 8, SlowConsumerPolicy.COALESCE);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g1");
+        outbox.offer(ServerMessageType.NOTIFICATION, "n1");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g2");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g3");
+
+        assertEquals(2, outbox.dropped());
+        completeWrites();
+        assertEquals(List.of("in-flight", "n1", "g3"), sent);
+    }
+
+    @Test
+    void disconnectClosesSlowSession() {
+        SessionOutbox outbox = new SessionOutbox(session, 1, SlowConsumerPolicy.DISCONNECT);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g1");
+        assertFalse(closed);
+
+        outbox.offer(ServerMessageType.LOAD_GAME, "g2");
+        assertTrue(closed);
+
+        outbox.offer(ServerMessageType.NOTIFICATION, "after close");
+        completeWrites();
+        assertEquals(List.of("in-flight"), sent);
+    }
+
+    @Test
+    void failedWriteClosesSessionAndUnregisters() {
+        List<SessionOutbox> unregistered = new ArrayList<>();
+        SessionOutbox outbox = new SessionOutbox(session, 8, SlowConsumerPolicy.COALESCE, unregistered::add);
+        outbox.offer(ServerMessageType.NOTIFICATION, "a");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g1");
+
+        inFlight.poll().writeFailed(new RuntimeException("broken pipe"));
+        // 메시지를 조용히 버리며 열린 채로 두지 않고, 세션을 닫아 클라이언트가 다시 연결하게 함
+        assertTrue(closed);
+        assertEquals(List.of(outbox), unregistered);
+
+        outbox.offer(ServerMessageType.ERROR, "after failure");
+        completeWrites();
+        assertEquals(List.of("a"), sent);
+    }
+
+    @Test
+    void droppedDeltasAreReplacedBySnapshot() {
+        SessionOutbox outbox = new SessionOutbox(session, 3, SlowConsumerPolicy.DROP_STALE_STATES);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.LOAD_GAME, "base");
+        outbox.offer(ServerMessageType.MOVE, "m1", "after m1");
+        outbox.offer(ServerMessageType.MOVE, "m2", "after m2");
+        outbox.offer(ServerMessageType.NOTIFICATION, "n1");
+
+        assertEquals(2, outbox.dropped());
+        completeWrites();
+        assertEquals(List.of("in-flight", "after m2", "n1"), sent);
+    }
+
+    @Test
+    void incomingDeltaOnFullQueueBecomesSnapshot() {
+        SessionOutbox outbox = new SessionOutbox(session, 2, SlowConsumerPolicy.DROP_STALE_STATES);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.LOAD_GAME, "base");
+        outbox.offer(ServerMessageType.NOTIFICATION, "n1");
+        outbox.offer(ServerMessageType.MOVE, "m1", "after m1");
+
+        completeWrites();
+        assertEquals(List.of("in-flight", "n1", "after m1"), sent);
+    }
+
+    @Test
+    void errorsAreNeverDropped() {
+        SessionOutbox outbox = new SessionOutbox(session, 2, SlowConsumerPolicy.DROP_STALE_STATES);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.ERROR, "e1");
+        outbox.offer(ServerMessageType.LOAD_GAME, "g1");
+        outbox.offer(ServerMessageType.ERROR, "e2");
+        outbox.offer(ServerMessageType.ERROR, "e3");
+
+        assertEquals(0, outbox.dropped());
+        completeWrites();
+        assertEquals(List.of("in-flight", "e1", "g1", "e2", "e3"), sent);
+    }
+
+    @Test
+    void coalesceReplacesBaseAndItsDeltas() {
+        SessionOutbox outbox = new SessionOutbox(session, 8, SlowConsumerPolicy.COALESCE);
+        outbox.offer(ServerMessageType.NOTIFICATION, "in-flight");
+        outbox.offer(ServerMessageType.LOAD_GAME, "base");
+        outbox.offer(ServerMessageType.MOVE, "m1", "after m1");
+        outbox.offer(ServerMessageType.LOAD_GAME, "resync");
+
+        completeWrites();
+        assertEquals(List.of("in-flight", "resync"), sent);
+    }
+}
@@ -0,0 +1,232 @@
+package chess;
+
+/**
+ * Precomputed attack tables.
+ * <p>
+ * Knights, kings and pawns use plain per-square lookup tables. Sliding pieces use "fancy" magic
+ * bitboards: for every square the relevant blocker squares are masked out of the occupancy, multiplied
+ * by a per-square magic number and shifted down to an index into a shared table of attack sets.
+ * Magics are found once at class load with a seeded search, so the tables are identical on every run.
+ */
+final class Attacks {
+
+    private static final int[][] ROOK_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final int[][] KNIGHT_OFFSETS = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+    private static final int[][] KING_OFFSETS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}, {1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+
+    private static final long[] KNIGHT_ATTACKS = new long[64];
+    private static final long[] KING_ATTACKS = new long[64];
+    private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    private static final Magic[] ROOK_MAGICS = new Magic[64];
+    private static final Magic[] BISHOP_MAGICS = new Magic[64];
+    private static final long[] ROOK_TABLE = new long[0x19000];
+    private static final long[] BISHOP_TABLE = new long[0x1480];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            KNIGHT_ATTACKS[square] = offsetAttacks(square, KNIGHT_OFFSETS);
+            KING_ATTACKS[square] = offsetAttacks(square, KING_OFFSETS);
+            PAWN_ATTACKS[ChessGame.TeamColor.WHITE.ordinal()][square] = offsetAttacks(square, new int[][]{{1, 1}, {1, -1}});
+            PAWN_ATTACKS[ChessGame.TeamColor.BLACK.ordinal()][square] = offsetAttacks(square, new int[][]{{-1, 1}, {-1, -1}});
+        }
+        initMagics(ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_TABLE);
+        initMagics(BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_TABLE);
+        initLines();
+    }
+
+    private Attacks() {
+    }
+
+    static long knightAttacks(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    static long kingAttacks(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    /**
+     * @return the (diagonal) squares a pawn of the given color on {@code square} attacks
+     */
+    static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN_ATTACKS[color.ordinal()][square];
+    }
+
+    /**
+     * @return squares a rook on {@code square} attacks, stopping at (and including) the first blocker
+     */
+    static long rookAttacks(int square, long occupied) {
+        return ROOK_MAGICS[square].attacks(ROOK_TABLE, occupied);
+    }
+
+    /**
+     * @return squares a bishop on {@code square} attacks, stopping at (and including) the first blocker
+     */
+    static long bishopAttacks(int square, long occupied) {
+        return BISHOP_MAGICS[square].attacks(BISHOP_TABLE, occupied);
+    }
+
+    static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * @return squares strictly between {@code a} and {@code b} if they share a rank, file or diagonal, else 0
+     */
+    static long between(int a, int b) {
+        return BETWEEN[a][b];
+    }
+
+    /**
+     * @return the whole rank, file or diagonal through {@code a} and {@code b}, or 0 if they are not aligned
+     */
+    static long line(int a, int b) {
+        return LINE[a][b];
+    }
+
+    private record Magic(long mask, long magic, int shift, int offset) {
+        long attacks(long[] table, long occupied) {
+            return table[offset + (int) (((occupied & mask) * magic) >>> shift)];
+        }
+    }
+
+    private static void initMagics(int[][] directions, Magic[] magics, long[] table) {
+        // Seeds per rank taken from Stockfish; they find magics for every square within a few thousand tries
+        final long[] seeds = {728, 10316, 55013, 32803, 12281, 15100, 16645, 255};
+        long[] occupancies = new long[4096];
+        long[] references = new long[4096];
+        int[] epoch = new int[4096];
+        int attempt = 0;
+        int offset = 0;
+
+        for (int square = 0; square < 64; square++) {
+            long mask = slidingAttacks(square, 0L, directions) & ~edges(square);
+            int bits = Long.bitCount(mask);
+            int shift = 64 - bits;
+            int size = 1 << bits;
+
+            // Carry-rippler enumeration of every subset of the mask
+            long subset = 0L;
+            int count = 0;
+            do {
+                occupancies[count] = subset;
+                references[count] = slidingAttacks(square, subset, directions);
+                count++;
+                subset = (subset - mask) & mask;
+            } while (subset != 0L);
+
+            long[] rng = {seeds[square >>> 3]};
+            long magic;
+            boolean found;
+            do {
+                do {
+                    magic = sparseRandom(rng);
+                } while (Long.bitCount((mask * magic) >>> 56) < 6);
+
+                attempt++;
+                found = true;
+                for (int i = 0; i < count; i++) {
+                    int index = offset + (int) ((occupancies[i] * magic) >>> shift);
+                    int slot = index - offset;
+                    if (epoch[slot] < attempt) {
+                        epoch[slot] = attempt;
+                        table[index] = references[i];
+                    } else if (table[index] != references[i]) {
+                        found = false;
+                        break;
+                    }
+                }
+            } while (!found);
+
+            magics[square] = new Magic(mask, magic, shift, offset);
+            offset += size;
+        }
+    }
+
+    private static void initLines() {
+        for (int a = 0; a < 64; a++) {
+            for (int b = 0; b < 64; b++) {
+                if (a == b) {
+                    continue;
+                }
+                long bits = Bitboards.bit(a) | Bitboards.bit(b);
+                if ((rookAttacks(a, 0L) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = rookAttacks(a, Bitboards.bit(b)) & rookAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (rookAttacks(a, 0L) & rookAttacks(b, 0L)) | bits;
+                } else if ((bishopAttacks(a, 0L) & Bitboards.bit(b)) != 0) {
+                    BETWEEN[a][b] = bishopAttacks(a, Bitboards.bit(b)) & bishopAttacks(b, Bitboards.bit(a));
+                    LINE[a][b] = (bishopAttacks(a, 0L) & bishopAttacks(b, 0L)) | bits;
+                }
+            }
+        }
+    }
+
+    private static long offsetAttacks(int square, int[][] offsets) {
+        long attacks = 0L;
+        for (int[] offset : offsets) {
+            int row = Bitboards.row(square) + offset[0];
+            int col = Bitboards.column(square) + offset[1];
+            if (row >= 1 && row <= 8 && col >= 1 && col <= 8) {
+                attacks |= Bitboards.bit(Bitboards.square(row, col));
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Walks each ray from the square until the board edge or the first occupied square.
+     * Only used to build the tables.
+     */
+    private static long slidingAttacks(int square, long occupied, int[][] directions) {
+        long attacks = 0L;
+        for (int[] dir : directions) {
+            int row = Bitboards.row(square);
+            int col = Bitboards.column(square);
+            while (true) {
+                row += dir[0];
+                col += dir[1];
+                if (row < 1 || row > 8 || col < 1 || col > 8) {
+                    break;
+                }
+                long bit = Bitboards.bit(Bitboards.square(row, col));
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Board edges that cannot affect a slider on {@code square}; edges the square itself lies on stay relevant.
+     */
+    private static long edges(int square) {
+        final long rank1 = 0xFFL;
+        final long rank8 = 0xFFL << 56;
+        final long fileA = 0x0101010101010101L;
+        final long fileH = fileA << 7;
+        long rankEdges = (rank1 | rank8) & ~(rank1 << (8 * (Bitboards.row(square) - 1)));
+        long fileEdges = (fileA | fileH) & ~(fileA << (Bitboards.column(square) - 1));
+        return rankEdges | fileEdges;
+    }
+
+    private static long sparseRandom(long[] state) {
+        return xorshift(state) & xorshift(state) & xorshift(state);
+    }
+
+    private static long xorshift(long[] state) {
+        long s = state[0];
+        s ^= s >>> 12;
+        s ^= s << 25;
+        s ^= s >>> 27;
+        state[0] = s;
+        return s * 2685821657736338717L;
+    }
+}
@@ -0,0 +1,49 @@
+package chess;
+
+/**
+ * Square and bitboard helpers shared by the board representation and the move generator.
+ * <p>
+ * Squares are numbered 0-63 starting at a1 (row 1, column 1) and increasing along the row,
+ * so bit {@code n} of a bitboard corresponds to row {@code n / 8 + 1}, column {@code n % 8 + 1}.
+ */
+final class Bitboards {
+
+    static final int PIECE_TYPES = ChessPiece.PieceType.values().length;
+
+    private Bitboards() {
+    }
+
+    static int square(int row, int col) {
+        return (row - 1) * 8 + (col - 1);
+    }
+
+    static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    /**
+     * @return the algebraic name of a square, e.g. "e4"
+     */
+    static String squareName(int square) {
+        return String.valueOf((char) ('a' + (square & 7))) + (char) ('1' + (square >>> 3));
+    }
+
+    static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * @return the slot of the given color/type pair in a board's twelve piece bitboards
+     */
+    static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * PIECE_TYPES + type.ordinal();
+    }
+}
@@ -0,0 +1,99 @@
+package chess;
+
+import java.util.Arrays;
+
+/**
+ * Castling rights, kept as a 4-bit mask so a game can carry and update them incrementally.
+ * <p>
+ * A right is lost for good once the king or the corresponding rook leaves its home square, or the
+ * rook is captured there. {@link #afterMove(int, int, int)} clears them by masking with a per-square
+ * table, so making a move never needs to look at the move history.
+ */
+final class Castling {
+
+    static final int WHITE_KING_SIDE = 1;
+    static final int WHITE_QUEEN_SIDE = 1 << 1;
+    static final int BLACK_KING_SIDE = 1 << 2;
+    static final int BLACK_QUEEN_SIDE = 1 << 3;
+    static final int NONE = 0;
+    static final int ALL = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+
+    private static final int[] KEEP_MASK = new int[64];
+
+    static {
+        Arrays.fill(KEEP_MASK, ALL);
+        KEEP_MASK[Bitboards.square(1, 5)] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        KEEP_MASK[Bitboards.square(1, 8)] &= ~WHITE_KING_SIDE;
+        KEEP_MASK[Bitboards.square(1, 1)] &= ~WHITE_QUEEN_SIDE;
+        KEEP_MASK[Bitboards.square(8, 5)] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        KEEP_MASK[Bitboards.square(8, 8)] &= ~BLACK_KING_SIDE;
+        KEEP_MASK[Bitboards.square(8, 1)] &= ~BLACK_QUEEN_SIDE;
+    }
+
+    private Castling() {
+    }
+
+    /**
+     * @return the rights left after a move from {@code from} to {@code to}
+     */
+    static int afterMove(int rights, int from, int to) {
+        return rights & KEEP_MASK[from] & KEEP_MASK[to];
+    }
+
+    static int right(ChessGame.TeamColor color, boolean kingSide) {
+        if (color == ChessGame.TeamColor.WHITE) {
+            return kingSide ? WHITE_KING_SIDE : WHITE_QUEEN_SIDE;
+        }
+        return kingSide ? BLACK_KING_SIDE : BLACK_QUEEN_SIDE;
+    }
+
+    static int kingHome(ChessGame.TeamColor color) {
+        return Bitboards.square(homeRow(color), 5);
+    }
+
+    static int rookHome(ChessGame.TeamColor color, boolean kingSide) {
+        return Bitboards.square(homeRow(color), kingSide ? 8 : 1);
+    }
+
+    /**
+     * @return where the king lands when castling to the given side
+     */
+    static int kingTarget(ChessGame.TeamColor color, boolean kingSide) {
+        return Bitboards.square(homeRow(color), kingSide ? 7 : 3);
+    }
+
+    /**
+     * @return where the rook lands when castling to the given side (the square the king passes over)
+     */
+    static int rookTarget(ChessGame.TeamColor color, boolean kingSide) {
+        return Bitboards.square(homeRow(color), kingSide ? 6 : 4);
+    }
+
+    /**
+     * Rights implied by the piece placement alone: every king and rook still standing on its home square.
+     * Used when a game is handed a board without any history.
+     */
+    static int fromBoard(ChessBoard board) {
+        int rights = NONE;
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            if (!isHome(board, kingHome(color), color, ChessPiece.PieceType.KING)) {
+                continue;
+            }
+            if (isHome(board, rookHome(color, true), color, ChessPiece.PieceType.ROOK)) {
+                rights |= right(color, true);
+            }
+            if (isHome(board, rookHome(color, false), color, ChessPiece.PieceType.ROOK)) {
+                rights |= right(color, false);
+            }
+        }
+        return rights;
+    }
+
+    private static boolean isHome(ChessBoard board, int square, ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return (board.pieces(color, type) & Bitboards.bit(square)) != 0;
+    }
+
+    private static int homeRow(ChessGame.TeamColor color) {
+        return (color == ChessGame.TeamColor.WHITE) ? 1 : 8;
+    }
+}
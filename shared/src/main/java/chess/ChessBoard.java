@@ -1,35 +1,39 @@
 package chess;
 
-import java.util.HashMap;
-import java.util.Map;
-import com.google.gson.annotations.Expose;
+import java.util.Arrays;
+import com.google.gson.annotations.JsonAdapter;
 
 /**
  * A chessboard that can hold and rearrange chess pieces.
  * <p>
+ * Pieces are stored as twelve bitboards (one per color/piece type) plus per-color
+ * occupancy masks, with a square-indexed array alongside for constant-time lookups.
+ * See {@link Bitboards} for the square numbering. A Zobrist key of the piece placement is
+ * kept up to date on every change.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessBoardAdapter.class)
 public class ChessBoard {
 
-    @Expose
-    private final Map<String, ChessPiece> board;
+    private final long[] pieceBitboards;
+    private final long[] colorOccupancy;
+    private final ChessPiece[] squares;
+    private long zobristKey;
 
     public ChessBoard() {
-        this.board = new HashMap<>();
+        this.pieceBitboards = new long[2 * Bitboards.PIECE_TYPES];
+        this.colorOccupancy = new long[2];
+        this.squares = new ChessPiece[64];
     }
 
     public ChessBoard(ChessBoard otherBoard) {
-        this.board = new HashMap<>();
-        for (Map.Entry<String, ChessPiece> entry : otherBoard.board.entrySet()) {
-            String key = entry.getKey();
-            ChessPiece piece = entry.getValue();
-            if (piece != null) {
-                this.board.put(key, new ChessPiece(piece.getTeamColor(), piece.getPieceType()));
-            } else {
-                this.board.put(key, null);
-            }
-        }
+        // ChessPiece is immutable, so the copy can share piece instances with the original
+        this.pieceBitboards = otherBoard.pieceBitboards.clone();
+        this.colorOccupancy = otherBoard.colorOccupancy.clone();
+        this.squares = otherBoard.squares.clone();
+        this.zobristKey = otherBoard.zobristKey;
     }
 
     /**
@@ -42,12 +46,7 @@ public class ChessBoard {
         if (position == null) {
             throw new IllegalArgumentException("Position cannot be null.");
         }
-        String key = positionKey(position);
-        if (piece == null) {
-            board.remove(key);
-        } else {
-            board.put(key, piece);
-        }
+        setPiece(Bitboards.square(position), piece);
     }
 
     /**
@@ -61,7 +60,7 @@ public class ChessBoard {
         if (position == null) {
             throw new IllegalArgumentException("Invalid.");
         }
-        return board.get(positionKey(position));
+        return squares[Bitboards.square(position)];
     }
 
     /**
@@ -69,33 +68,36 @@ public class ChessBoard {
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
-        board.clear();
+        Arrays.fill(pieceBitboards, 0L);
+        Arrays.fill(colorOccupancy, 0L);
+        Arrays.fill(squares, null);
+        zobristKey = 0L;
 
         // Place white pawns
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(2, col), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2, col), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
         }
-        addPiece(new ChessPosition(1, 1), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(1, 2), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 3), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 4), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(1, 5), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(1, 6), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(1, 7), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(1, 8), new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 1), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(1, 2), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 3), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(1, 5), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(1, 6), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(1, 7), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(1, 8), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK));
 
         // Place black pawns
         for (int col = 1; col <= 8; col++) {
-            addPiece(new ChessPosition(7, col), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7, col), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
-        addPiece(new ChessPosition(8, 1), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(8, 2), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 3), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 4), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(8, 5), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(8, 6), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(8, 7), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(8, 8), new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 1), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(8, 2), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 3), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 4), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(8, 5), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(8, 6), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(8, 7), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(8, 8), ChessPiece.of(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
     }
 
     @Override
@@ -107,15 +109,111 @@ public class ChessBoard {
             return false;
         }
         ChessBoard that = (ChessBoard) obj;
-        return this.board.equals(that.board);
+        return Arrays.equals(this.pieceBitboards, that.pieceBitboards);
     }
 
     @Override
     public int hashCode() {
-        return board.hashCode();
+        return Long.hashCode(zobristKey);
+    }
+
+    /**
+     * @return the Zobrist key of the piece placement; it does not include whose turn it is
+     */
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    /**
+     * Places a piece on a square, replacing whatever was there.
+     *
+     * @param square the square index (0-63)
+     * @param piece  the piece to place, or null to empty the square
+     */
+    void setPiece(int square, ChessPiece piece) {
+        long mask = Bitboards.bit(square);
+        ChessPiece previous = squares[square];
+        if (previous != null) {
+            pieceBitboards[Bitboards.pieceIndex(previous.getTeamColor(), previous.getPieceType())] &= ~mask;
+            colorOccupancy[previous.getTeamColor().ordinal()] &= ~mask;
+            zobristKey ^= Zobrist.piece(previous, square);
+        }
+        squares[square] = piece;
+        if (piece != null) {
+            pieceBitboards[Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())] |= mask;
+            colorOccupancy[piece.getTeamColor().ordinal()] |= mask;
+            zobristKey ^= Zobrist.piece(piece, square);
+        }
+    }
+
+    /**
+     * @return the piece on the given square index, or null if it is empty
+     */
+    ChessPiece pieceAt(int square) {
+        return squares[square];
+    }
+
+    /**
+     * @return bitboard of every square holding a piece of the given color and type
+     */
+    long pieces(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return pieceBitboards[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * @return bitboard of every square holding a piece of the given color
+     */
+    long occupancy(ChessGame.TeamColor color) {
+        return colorOccupancy[color.ordinal()];
+    }
+
+    /**
+     * @return bitboard of every occupied square
+     */
+    long occupied() {
+        return colorOccupancy[0] | colorOccupancy[1];
+    }
+
+    /**
+     * @return the square index of the given team's king, or -1 if it has none on the board
+     */
+    int kingSquare(ChessGame.TeamColor color) {
+        long king = pieces(color, ChessPiece.PieceType.KING);
+        return king == 0 ? -1 : Long.numberOfTrailingZeros(king);
+    }
+
+    /**
+     * Finds every piece of {@code attacker} that attacks {@code square} by looking outward from the
+     * square with each piece's attack pattern, rather than generating the attacker's moves.
+     *
+     * @param occupied the occupancy sliders are blocked by, normally {@link #occupied()}
+     * @return bitboard of the attacking pieces
+     */
+    long attackersTo(int square, ChessGame.TeamColor attacker, long occupied) {
+        long queens = pieces(attacker, ChessPiece.PieceType.QUEEN);
+        return (Attacks.knightAttacks(square) & pieces(attacker, ChessPiece.PieceType.KNIGHT))
+                | (Attacks.kingAttacks(square) & pieces(attacker, ChessPiece.PieceType.KING))
+                | (Attacks.pawnAttacks(attacker.opponent(), square) & pieces(attacker, ChessPiece.PieceType.PAWN))
+                | (Attacks.bishopAttacks(square, occupied) & (pieces(attacker, ChessPiece.PieceType.BISHOP) | queens))
+                | (Attacks.rookAttacks(square, occupied) & (pieces(attacker, ChessPiece.PieceType.ROOK) | queens));
+    }
+
+    /**
+     * @return whether neither side has enough material left to checkmate: only kings and at most one
+     * bishop or knight between them
+     */
+    boolean hasInsufficientMaterial() {
+        long heavy = 0L;
+        long minor = 0L;
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            heavy |= pieces(color, ChessPiece.PieceType.PAWN) | pieces(color, ChessPiece.PieceType.ROOK)
+                    | pieces(color, ChessPiece.PieceType.QUEEN);
+            minor |= pieces(color, ChessPiece.PieceType.BISHOP) | pieces(color, ChessPiece.PieceType.KNIGHT);
+        }
+        return heavy == 0 && Long.bitCount(minor) <= 1;
     }
 
-    private String positionKey(ChessPosition position) {
-        return position.getRow() + "," + position.getColumn();
+    boolean isSquareAttacked(int square, ChessGame.TeamColor attacker) {
+        return attackersTo(square, attacker, occupied()) != 0;
     }
 }
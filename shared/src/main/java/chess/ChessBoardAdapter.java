@@ -0,0 +1,95 @@
+package chess;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for {@link ChessBoard}.
+ * <p>
+ * Keeps the original wire format, {@code {"board": {"row,col": {"pieceColor": ..., "pieceType": ...}}}},
+ * so game states already stored in the database and clients built against the old map-backed board
+ * keep working with the bitboard representation.
+ */
+class ChessBoardAdapter extends TypeAdapter<ChessBoard> {
+
+    @Override
+    public void write(JsonWriter out, ChessBoard board) throws IOException {
+        if (board == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("board");
+        out.beginObject();
+        for (int square = 0; square < 64; square++) {
+            ChessPiece piece = board.pieceAt(square);
+            if (piece == null) {
+                continue;
+            }
+            out.name(Bitboards.row(square) + "," + Bitboards.column(square));
+            out.beginObject();
+            out.name("pieceColor").value(piece.getTeamColor().name());
+            out.name("pieceType").value(piece.getPieceType().name());
+            out.endObject();
+        }
+        out.endObject();
+        out.endObject();
+    }
+
+    @Override
+    public ChessBoard read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ChessBoard board = new ChessBoard();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextName().equals("board") && in.peek() == JsonToken.BEGIN_OBJECT) {
+                readSquares(in, board);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return board;
+    }
+
+    private void readSquares(JsonReader in, ChessBoard board) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                continue;
+            }
+            int comma = key.indexOf(',');
+            if (comma < 0) {
+                throw new IOException("Invalid square key: " + key);
+            }
+            int row = Integer.parseInt(key.substring(0, comma).trim());
+            int col = Integer.parseInt(key.substring(comma + 1).trim());
+            board.addPiece(ChessPosition.of(row, col), readPiece(in));
+        }
+        in.endObject();
+    }
+
+    private ChessPiece readPiece(JsonReader in) throws IOException {
+        ChessGame.TeamColor color = null;
+        ChessPiece.PieceType type = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "pieceColor" -> color = ChessGame.TeamColor.valueOf(in.nextString());
+                case "pieceType" -> type = ChessPiece.PieceType.valueOf(in.nextString());
+                default -> in.skipValue();
+            }
+        }
+        in.endObject();
+        return ChessPiece.of(color, type);
+    }
+}
@@ -1,18 +1,57 @@
 package chess;
 
 import java.util.Collection;
-import java.util.ArrayList;
-import java.util.List;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
 
+@JsonAdapter(ChessGameAdapterFactory.class)
 public class ChessGame {
 
+    /** Marks the absence of an en passant target square. */
+    static final int NO_SQUARE = -1;
+
     @Expose
     private ChessBoard board;
     @Expose
     private TeamColor currentTurn;
+    /**
+     * {@link Castling} rights still available, as a bit mask. Updated by every move rather than worked
+     * out from the move history, and reset from the piece placement by {@link #setBoard(ChessBoard)}.
+     */
+    @Expose
+    private int castlingRights = Castling.ALL;
+    /**
+     * Square (see {@link Bitboards}) the side to move may capture onto en passant, or {@link #NO_SQUARE}.
+     * Set only by the double pawn push that makes the capture possible and cleared by the next move.
+     */
+    @Expose
+    private int enPassantSquare = NO_SQUARE;
+    /**
+     * Plies since the last capture or pawn move, for the fifty-move rule.
+     */
+    @Expose
+    private int halfmoveClock;
+    /**
+     * Starts at 1 and goes up after each move by black, as in FEN.
+     */
+    @Expose
+    private int fullmoveNumber = 1;
+    /**
+     * Keys of the earlier positions that the current one could still repeat, for threefold repetition.
+     */
+    @Expose
+    private KeyHistory history = new KeyHistory();
+    /**
+     * Status of the side to move, cached together with the {@link #getZobristKey() key} of the position it
+     * was computed for. Any change to the position changes the key, which invalidates the cache, and both
+     * are serialized so a received game can report its status without generating moves again.
+     */
+    @Expose
+    private GameStatus status;
+    @Expose
+    private long statusKey;
 
     public ChessGame() {
         this.board = new ChessBoard();
@@ -25,6 +64,10 @@ public class ChessGame {
     }
 
     public void setTeamTurn(TeamColor team) {
+        if (team != currentTurn) {
+            // An en passant target only ever belongs to the side that is about to move
+            enPassantSquare = NO_SQUARE;
+        }
         this.currentTurn = team;
     }
 
@@ -34,15 +77,18 @@ public class ChessGame {
             return null;
         }
 
-        List<ChessMove> validMoves = new ArrayList<>();
-        Collection<ChessMove> potentialMoves = piece.pieceMoves(board, startPosition);
+        MoveList moves = new MoveList(32);
+        generator(piece.getTeamColor()).addLegalMoves(Bitboards.square(startPosition), moves);
+        return moves.toChessMoves();
+    }
 
-        for (ChessMove move : potentialMoves) {
-            if (!wouldStillBeInCheck(piece.getTeamColor(), move)) {
-                validMoves.add(move);
-            }
-        }
-        return validMoves;
+    /**
+     * Fills {@code moves} with every legal move for the team whose turn it is, as {@link PackedMove packed moves}.
+     * The list is cleared first, so one buffer can be reused across positions.
+     */
+    public void legalMoves(MoveList moves) {
+        moves.clear();
+        generator(currentTurn).addAllLegalMoves(moves);
     }
 
     public void makeMove(ChessMove move) throws InvalidMoveException {
@@ -56,121 +102,310 @@ public class ChessGame {
             throw new InvalidMoveException("Invalid.");
         }
 
-        Collection<ChessMove> validMoves = validMoves(move.getStartPosition());
-        if (!validMoves.contains(move)) {
+        MoveList validMoves = new MoveList(32);
+        generator(currentTurn).addLegalMoves(Bitboards.square(move.getStartPosition()), validMoves);
+        int packed = validMoves.find(move);
+        if (packed < 0) {
             throw new InvalidMoveException("Invalid.");
         }
 
-        ChessPiece newPiece = (piece.getPieceType() == ChessPiece.PieceType.PAWN && move.getPromotionPiece() != null)
-                ? new ChessPiece(piece.getTeamColor(), move.getPromotionPiece())
+        doMove(packed);
+        // Positions from before the last capture or pawn move can never come back
+        history.retainLast(halfmoveClock);
+        cacheStatus(computeStatus());
+    }
+
+    /**
+     * Applies a {@link PackedMove packed move} to the board in place without validating it, flipping the turn
+     * and updating the castling rights and en passant target.
+     *
+     * @return the record needed to take the move back with {@link #undoMove(MoveUndo)}
+     */
+    MoveUndo doMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece piece = board.pieceAt(from);
+        int capturedSquare = PackedMove.hasFlag(move, PackedMove.EN_PASSANT) ? enPassantVictim(to, currentTurn) : to;
+        ChessPiece captured = board.pieceAt(capturedSquare);
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+
+        ChessPiece newPiece = (piece.getPieceType() == ChessPiece.PieceType.PAWN && promotion != null)
+                ? ChessPiece.of(piece.getTeamColor(), promotion)
                 : piece;
 
-        board.addPiece(move.getEndPosition(), newPiece);
-        board.addPiece(move.getStartPosition(), null);
+        MoveUndo undo = new MoveUndo(move, piece, captured, currentTurn, castlingRights, enPassantSquare, halfmoveClock);
+        history.push(getZobristKey());
+
+        board.setPiece(capturedSquare, null);
+        board.setPiece(to, newPiece);
+        board.setPiece(from, null);
+        if (PackedMove.hasFlag(move, PackedMove.CASTLE)) {
+            boolean kingSide = to > from;
+            int rookFrom = Castling.rookHome(currentTurn, kingSide);
+            board.setPiece(Castling.rookTarget(currentTurn, kingSide), board.pieceAt(rookFrom));
+            board.setPiece(rookFrom, null);
+        }
+
+        castlingRights = Castling.afterMove(castlingRights, from, to);
+        enPassantSquare = PackedMove.hasFlag(move, PackedMove.DOUBLE_PUSH) ? (from + to) / 2 : NO_SQUARE;
+        boolean irreversible = captured != null || piece.getPieceType() == ChessPiece.PieceType.PAWN;
+        halfmoveClock = irreversible ? 0 : halfmoveClock + 1;
+        if (currentTurn == TeamColor.BLACK) {
+            fullmoveNumber++;
+        }
+        currentTurn = currentTurn.opponent();
+        return undo;
+    }
+
+    /**
+     * Takes back a move applied with {@link #doMove(int)}, restoring only the squares and state it changed.
+     * Moves must be undone in the reverse order they were made.
+     */
+    void undoMove(MoveUndo undo) {
+        int move = undo.move();
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        TeamColor mover = undo.turn();
+
+        if (PackedMove.hasFlag(move, PackedMove.CASTLE)) {
+            boolean kingSide = to > from;
+            int rookTo = Castling.rookTarget(mover, kingSide);
+            board.setPiece(Castling.rookHome(mover, kingSide), board.pieceAt(rookTo));
+            board.setPiece(rookTo, null);
+        }
+        board.setPiece(from, undo.moved());
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            board.setPiece(to, null);
+            board.setPiece(enPassantVictim(to, mover), undo.captured());
+        } else {
+            board.setPiece(to, undo.captured());
+        }
+
+        castlingRights = undo.castlingRights();
+        enPassantSquare = undo.enPassantSquare();
+        halfmoveClock = undo.halfmoveClock();
+        if (mover == TeamColor.BLACK) {
+            fullmoveNumber--;
+        }
+        history.pop();
+        currentTurn = mover;
+    }
 
-        currentTurn = (currentTurn == TeamColor.WHITE) ? TeamColor.BLACK : TeamColor.WHITE;
+    /**
+     * Everything {@link #doMove(int)} overwrites: the move itself, the moving piece (before any promotion),
+     * the captured piece, whose turn it was, and the castling rights, en passant target and halfmove clock
+     * before the move.
+     */
+    record MoveUndo(int move, ChessPiece moved, ChessPiece captured, TeamColor turn,
+                    int castlingRights, int enPassantSquare, int halfmoveClock) {
+    }
+
+    /**
+     * @return the square of the pawn taken by an en passant capture landing on {@code target}
+     */
+    private static int enPassantVictim(int target, TeamColor mover) {
+        return (mover == TeamColor.WHITE) ? target - 8 : target + 8;
+    }
+
+    private MoveGenerator generator(TeamColor team) {
+        return new MoveGenerator(board, team, castlingRights, (team == currentTurn) ? enPassantSquare : NO_SQUARE);
     }
 
 
     public boolean isInCheck(ChessGame.TeamColor teamColor) {
-        ChessPosition kingPosition = findKingPosition(teamColor);
-        if (kingPosition == null) {
+        int kingSquare = board.kingSquare(teamColor);
+        if (kingSquare < 0) {
             throw new IllegalStateException("King not found on the board.");
         }
-        return isThreatened(kingPosition, teamColor);
+        return board.isSquareAttacked(kingSquare, teamColor.opponent());
     }
 
-    private boolean isThreatened(ChessPosition position, TeamColor teamColor) {
-        return getAllEnemyMoves(teamColor).stream().anyMatch(move -> move.getEndPosition().equals(position));
+    public boolean isInCheckmate(TeamColor teamColor) {
+        if (teamColor == currentTurn) {
+            return getStatus() == GameStatus.CHECKMATE;
+        }
+        return isInCheck(teamColor) && !generator(teamColor).hasLegalMove();
     }
 
-    private Collection<ChessMove> getAllEnemyMoves(TeamColor teamColor) {
-        List<ChessMove> allMoves = new ArrayList<>();
-        iterateBoard((pos, piece) -> {
-            if (piece != null && piece.getTeamColor() != teamColor) {
-                allMoves.addAll(piece.pieceMoves(board, pos));
-            }
-        });
-        return allMoves;
+    public boolean isInStalemate(TeamColor teamColor) {
+        if (teamColor == currentTurn) {
+            return getStatus() == GameStatus.STALEMATE;
+        }
+        return !isInCheck(teamColor) && !generator(teamColor).hasLegalMove();
     }
 
-    private ChessPosition findKingPosition(TeamColor teamColor) {
-        return findPiecePosition(teamColor, ChessPiece.PieceType.KING);
+    /**
+     * Works out the status for the side to move with a single pass of the move generator and caches it
+     * until the position changes. {@link #makeMove(ChessMove)} fills the cache, so reading the status
+     * after a move costs nothing.
+     */
+    public GameStatus getStatus() {
+        long key = getZobristKey();
+        if (status == null || statusKey != key) {
+            status = computeStatus();
+            statusKey = key;
+        }
+        return status;
     }
 
-    private ChessPosition findPiecePosition(TeamColor teamColor, ChessPiece.PieceType type) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(position);
-                if (piece != null && piece.getPieceType() == type && piece.getTeamColor() == teamColor) {
-                    return position;
-                }
-            }
+    private GameStatus computeStatus() {
+        MoveGenerator generator = generator(currentTurn);
+        if (!generator.hasLegalMove()) {
+            return generator.inCheck() ? GameStatus.CHECKMATE : GameStatus.STALEMATE;
         }
-        return null;
+        if (board.hasInsufficientMaterial() || isFiftyMoveDraw() || isThreefoldRepetition()) {
+            return GameStatus.DRAW;
+        }
+        return generator.inCheck() ? GameStatus.CHECK : GameStatus.ONGOING;
     }
 
-    public boolean isInCheckmate(TeamColor teamColor) {
-        return isInCheck(teamColor) && !canEscapeCheck(teamColor);
+    /**
+     * @return whether the current position, with the same side to move, castling rights and en passant
+     * target, has occurred at least twice before
+     */
+    public boolean isThreefoldRepetition() {
+        return history.repetitions(getZobristKey(), halfmoveClock) >= 2;
     }
 
-    private boolean canEscapeCheck(TeamColor teamColor) {
-        return getAllMovesForTeam(teamColor).stream().anyMatch(move -> !wouldStillBeInCheck(teamColor, move));
+    /**
+     * @return whether fifty moves by each side have passed without a capture or pawn move
+     */
+    public boolean isFiftyMoveDraw() {
+        return halfmoveClock >= 100;
     }
 
-    private Collection<ChessMove> getAllMovesForTeam(TeamColor teamColor) {
-        List<ChessMove> allMoves = new ArrayList<>();
-        iterateBoard((pos, piece) -> {
-            if (piece != null && piece.getTeamColor() == teamColor) {
-                allMoves.addAll(validMoves(pos));
-            }
-        });
-        return allMoves;
+    /**
+     * @return plies since the last capture or pawn move
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
     }
 
-    private boolean wouldStillBeInCheck(TeamColor teamColor, ChessMove move) {
-        ChessBoard tempBoard = new ChessBoard(board);
-        ChessPiece piece = board.getPiece(move.getStartPosition());
+    /**
+     * @return the number of the current full move, starting at 1
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
 
-        tempBoard.addPiece(move.getEndPosition(), piece);
-        tempBoard.addPiece(move.getStartPosition(), null);
+    /**
+     * @return the number of half-moves played since the first move of the game
+     */
+    public int getPlyCount() {
+        return (fullmoveNumber - 1) * 2 + (currentTurn == TeamColor.BLACK ? 1 : 0);
+    }
 
-        ChessGame tempGame = new ChessGame();
-        tempGame.setBoard(tempBoard);
-        tempGame.setTeamTurn(teamColor);
+    /**
+     * @return the Zobrist key of the position: the board's piece placement combined with the side to move,
+     * the castling rights and the en passant target
+     */
+    public long getZobristKey() {
+        return board.getZobristKey() ^ Zobrist.sideToMove(currentTurn)
+                ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+    }
 
-        return tempGame.isInCheck(teamColor);
+    /**
+     * @return the square the side to move may capture onto en passant, or null if there is none
+     */
+    public ChessPosition getEnPassantTarget() {
+        return (enPassantSquare == NO_SQUARE) ? null : ChessPosition.of(enPassantSquare);
     }
 
-    public boolean isInStalemate(TeamColor teamColor) {
-        return !isInCheck(teamColor) && getAllMovesForTeam(teamColor).isEmpty();
+    /**
+     * Resets the castling rights to what the piece placement allows, for states saved without them.
+     */
+    void castlingRightsFromBoard() {
+        castlingRights = (board == null) ? Castling.NONE : Castling.fromBoard(board);
     }
 
-    private void iterateBoard(BoardIterator iterator) {
-        for (int row = 1; row <= 8; row++) {
-            for (int col = 1; col <= 8; col++) {
-                ChessPosition position = new ChessPosition(row, col);
-                iterator.process(position, board.getPiece(position));
-            }
-        }
+    int castlingRights() {
+        return castlingRights;
+    }
+
+    int enPassantSquare() {
+        return enPassantSquare;
     }
 
+    KeyHistory history() {
+        return history;
+    }
+
+    /**
+     * @return the cached status if it is still valid for the current position, else null
+     */
+    GameStatus cachedStatus() {
+        return (status != null && statusKey == getZobristKey()) ? status : null;
+    }
+
+    void cacheStatus(GameStatus status) {
+        this.status = status;
+        this.statusKey = getZobristKey();
+    }
+
+    /**
+     * Restores the state that is not part of the board or the turn, for decoders such as {@link GameStateCodec}.
+     */
+    void restoreState(int castlingRights, int enPassantSquare, int halfmoveClock, int fullmoveNumber,
+                      KeyHistory history) {
+        this.castlingRights = castlingRights & Castling.ALL;
+        this.enPassantSquare = enPassantSquare;
+        this.halfmoveClock = halfmoveClock;
+        this.fullmoveNumber = fullmoveNumber;
+        this.history = history;
+    }
+
+    /**
+     * Replaces the board. With no history to go on, castling is allowed for every king and rook
+     * standing on their home squares, and there is no en passant target, halfmove count or repetition history.
+     */
     public void setBoard(ChessBoard board) {
         this.board = board;
+        this.castlingRights = (board == null) ? Castling.NONE : Castling.fromBoard(board);
+        this.enPassantSquare = NO_SQUARE;
+        this.halfmoveClock = 0;
+        this.fullmoveNumber = 1;
+        this.history.clear();
     }
 
     public ChessBoard getBoard() {
         return board;
     }
 
+    /**
+     * @return an independent copy of the game, e.g. to hand out a snapshot while the original keeps changing.
+     * Moves already made cannot be undone on the copy.
+     */
+    public ChessGame copy() {
+        return GameStateCodec.decode(GameStateCodec.encode(this));
+    }
+
     public enum TeamColor {
-        WHITE, BLACK
+        WHITE, BLACK;
+
+        /**
+         * @return the other team
+         */
+        public TeamColor opponent() {
+            return this == WHITE ? BLACK : WHITE;
+        }
     }
 
-    @FunctionalInterface
-    private interface BoardIterator {
-        void process(ChessPosition pos, ChessPiece piece);
+    /**
+     * State of the game from the point of view of the side to move.
+     */
+    public enum GameStatus {
+        ONGOING,
+        CHECK,
+        CHECKMATE,
+        STALEMATE,
+        DRAW;
+
+        /**
+         * @return whether no further moves can be played
+         */
+        public boolean isTerminal() {
+            return this == CHECKMATE || this == STALEMATE || this == DRAW;
+        }
     }
 
     @Expose
@@ -0,0 +1,47 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Gson adapter for {@link ChessGame}: the usual field-by-field form, but games stored before castling
+ * rights were tracked, which have no {@code castlingRights} field, get the rights their board allows
+ * (as {@link Fen#parse(String)} does) instead of every right.
+ */
+class ChessGameAdapterFactory implements TypeAdapterFactory {
+
+    private static final String CASTLING_RIGHTS = "castlingRights";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ChessGame.class) {
+            return null;
+        }
+        TypeAdapter<ChessGame> fields = gson.getDelegateAdapter(this, TypeToken.get(ChessGame.class));
+        TypeAdapter<JsonElement> tree = gson.getAdapter(JsonElement.class);
+        return (TypeAdapter<T>) new TypeAdapter<ChessGame>() {
+            @Override
+            public void write(JsonWriter out, ChessGame game) throws IOException {
+                fields.write(out, game);
+            }
+
+            @Override
+            public ChessGame read(JsonReader in) throws IOException {
+                JsonElement json = tree.read(in);
+                ChessGame game = fields.fromJsonTree(json);
+                if (game != null && !json.getAsJsonObject().has(CASTLING_RIGHTS)) {
+                    game.castlingRightsFromBoard();
+                }
+                return game;
+            }
+        };
+    }
+}
@@ -8,11 +8,24 @@ import java.util.HashSet;
 /**
  * Represents a single chess piece
  * <p>
+ * Pieces are immutable and only twelve kinds exist, so {@link #of(ChessGame.TeamColor, PieceType)}
+ * hands out shared instances; prefer it over the constructor.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessPiece {
 
+    private static final ChessPiece[] PIECES = new ChessPiece[2 * Bitboards.PIECE_TYPES];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (PieceType type : PieceType.values()) {
+                PIECES[Bitboards.pieceIndex(color, type)] = new ChessPiece(color, type);
+            }
+        }
+    }
+
     @Expose
     private final ChessGame.TeamColor pieceColor;
     @Expose
@@ -26,6 +39,18 @@ public class ChessPiece {
         this.pieceType = type;
     }
 
+    /**
+     * Returns the shared instance for a color/type pair.
+     *
+     * @throws IllegalArgumentException if either argument is null
+     */
+    public static ChessPiece of(ChessGame.TeamColor pieceColor, PieceType type) {
+        if (pieceColor == null || type == null) {
+            throw new IllegalArgumentException("Piece color and type cannot be null.");
+        }
+        return PIECES[Bitboards.pieceIndex(pieceColor, type)];
+    }
+
     /**
      * The various different chess piece options
      */
@@ -67,16 +92,16 @@ public class ChessPiece {
                 addPawnMoves(possibleMoves, board, myPosition);
                 break;
             case ROOK:
-                addLinearMoves(possibleMoves, board, myPosition, new int[][]{{1, 0}, {-1, 0}, {0, 1}, {0, -1}});
+                addSlidingMoves(possibleMoves, board, myPosition,
+                        Attacks.rookAttacks(Bitboards.square(myPosition), board.occupied()));
                 break;
             case BISHOP:
-                addLinearMoves(possibleMoves, board, myPosition, new int[][]{{1, 1}, {1, -1}, {-1, 1}, {-1, -1}});
+                addSlidingMoves(possibleMoves, board, myPosition,
+                        Attacks.bishopAttacks(Bitboards.square(myPosition), board.occupied()));
                 break;
             case QUEEN:
-                addLinearMoves(possibleMoves, board, myPosition, new int[][]{
-                        {1, 0}, {-1, 0}, {0, 1}, {0, -1}, // Rook movement
-                        {1, 1}, {1, -1}, {-1, 1}, {-1, -1}  // Bishop movement
-                });
+                addSlidingMoves(possibleMoves, board, myPosition,
+                        Attacks.queenAttacks(Bitboards.square(myPosition), board.occupied()));
                 break;
             case KNIGHT:
                 addKnightMoves(possibleMoves, board, myPosition);
@@ -119,7 +144,7 @@ public class ChessPiece {
         int finalRow = (pieceColor == ChessGame.TeamColor.WHITE) ? 8 : 1;
 
         // 앞으로 한 칸 이동
-        ChessPosition oneStep = new ChessPosition(pos.getRow() + direction, pos.getColumn());
+        ChessPosition oneStep = ChessPosition.of(pos.getRow() + direction, pos.getColumn());
         if (board.getPiece(oneStep) == null) {
             if (oneStep.getRow() == finalRow) {
                 addPromotionMoves(moves, pos, oneStep);
@@ -131,7 +156,7 @@ public class ChessPiece {
         // 첫 이동 시 두 칸 이동
         if ((pieceColor == ChessGame.TeamColor.WHITE && pos.getRow() == 2) ||
                 (pieceColor == ChessGame.TeamColor.BLACK && pos.getRow() == 7)) {
-            ChessPosition twoSteps = new ChessPosition(pos.getRow() + 2 * direction, pos.getColumn());
+            ChessPosition twoSteps = ChessPosition.of(pos.getRow() + 2 * direction, pos.getColumn());
             if (board.getPiece(twoSteps) == null && board.getPiece(oneStep) == null) {
                 moves.add(new ChessMove(pos, twoSteps, null));
             }
@@ -141,7 +166,7 @@ public class ChessPiece {
         for (int colOffset : new int[]{-1, 1}) {
             int newCol = pos.getColumn() + colOffset;
             if (newCol >= 1 && newCol <= 8) {
-                ChessPosition attackPos = new ChessPosition(pos.getRow() + direction, newCol);
+                ChessPosition attackPos = ChessPosition.of(pos.getRow() + direction, newCol);
                 ChessPiece target = board.getPiece(attackPos);
                 if (target != null && target.getTeamColor() != pieceColor) {
                     if (attackPos.getRow() == finalRow) {
@@ -161,29 +186,13 @@ public class ChessPiece {
         moves.add(new ChessMove(start, end, ChessPiece.PieceType.KNIGHT));
     }
 
-    private void addLinearMoves(Collection<ChessMove> moves, ChessBoard board, ChessPosition pos, int[][] directions) {
-        for (int[] dir : directions) {
-            int row = pos.getRow();
-            int col = pos.getColumn();
-
-            while (true) {
-                row += dir[0];
-                col += dir[1];
-                if (row < 1 || row > 8 || col < 1 || col > 8) {
-                    break;
-                }
-
-                ChessPosition newPos = new ChessPosition(row, col);
-                ChessPiece piece = board.getPiece(newPos);
-                if (piece == null) {
-                    moves.add(new ChessMove(pos, newPos, null));
-                } else {
-                    if (piece.getTeamColor() != pieceColor) {
-                        moves.add(new ChessMove(pos, newPos, null));
-                    }
-                    break;
-                }
-            }
+    private void addSlidingMoves(Collection<ChessMove> moves, ChessBoard board, ChessPosition pos, long attacks) {
+        // Attack sets include the first blocker on each ray; drop the ones that are our own pieces
+        long targets = attacks & ~board.occupancy(pieceColor);
+        while (targets != 0) {
+            int square = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            moves.add(new ChessMove(pos, ChessPosition.of(square), null));
         }
     }
 
@@ -193,7 +202,7 @@ public class ChessPiece {
             int newCol = pos.getColumn() + offset[1];
 
             if (newRow >= 1 && newRow <= 8 && newCol >= 1 && newCol <= 8) {
-                ChessPosition newPos = new ChessPosition(newRow, newCol);
+                ChessPosition newPos = ChessPosition.of(newRow, newCol);
                 ChessPiece target = board.getPiece(newPos);
 
                 if (target == null || target.getTeamColor() != pieceColor) {
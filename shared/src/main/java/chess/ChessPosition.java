@@ -1,14 +1,27 @@
 package chess;
 
 import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.JsonAdapter;
 
 /**
  * Represents a single square position on a chess board
  * <p>
+ * Only 64 positions exist, so {@link #of(int, int)} hands out shared instances; prefer it over the
+ * constructor in hot paths.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
+@JsonAdapter(ChessPositionAdapter.class)
 public class ChessPosition {
+    private static final ChessPosition[] POSITIONS = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < 64; square++) {
+            POSITIONS[square] = new ChessPosition(Bitboards.row(square), Bitboards.column(square));
+        }
+    }
+
     @Expose
     private final int row;
     @Expose
@@ -29,6 +42,27 @@ public class ChessPosition {
         this.col = col;
     }
 
+    /**
+     * Returns the shared instance for a square.
+     *
+     * @param row the row position (1-8)
+     * @param col the column position (1-8)
+     * @throws IllegalArgumentException if row or col are out of range
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            throw new IllegalArgumentException("Row and column must be between 1 and 8.");
+        }
+        return POSITIONS[Bitboards.square(row, col)];
+    }
+
+    /**
+     * @return the shared instance for a square index (see {@link Bitboards})
+     */
+    static ChessPosition of(int square) {
+        return POSITIONS[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -0,0 +1,274 @@
+package chess;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation, e.g. the starting position
+ * {@code rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1}.
+ * <p>
+ * Both directions work on the board's square array in a single pass without splitting the string,
+ * so converting a position costs one {@link StringBuilder} or one new game.
+ */
+public final class Fen {
+
+    /** The standard starting position. */
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "PNBRQK";
+    /** Piece types in the order of {@link #PIECE_LETTERS}. */
+    private static final ChessPiece.PieceType[] TYPES = {
+            ChessPiece.PieceType.PAWN, ChessPiece.PieceType.KNIGHT, ChessPiece.PieceType.BISHOP,
+            ChessPiece.PieceType.ROOK, ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.KING
+    };
+
+    private Fen() {
+    }
+
+    public static String toFen(ChessGame game) {
+        StringBuilder fen = new StringBuilder(90);
+        appendPlacement(fen, game.getBoard());
+
+        fen.append(game.getTeamTurn() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+
+        int rights = game.castlingRights();
+        if (rights == Castling.NONE) {
+            fen.append('-');
+        } else {
+            appendIf(fen, rights, Castling.WHITE_KING_SIDE, 'K');
+            appendIf(fen, rights, Castling.WHITE_QUEEN_SIDE, 'Q');
+            appendIf(fen, rights, Castling.BLACK_KING_SIDE, 'k');
+            appendIf(fen, rights, Castling.BLACK_QUEEN_SIDE, 'q');
+        }
+
+        int enPassant = game.enPassantSquare();
+        fen.append(' ').append(enPassant < 0 ? "-" : Bitboards.squareName(enPassant));
+        fen.append(' ').append(game.getHalfmoveClock());
+        fen.append(' ').append(game.getFullmoveNumber());
+        return fen.toString();
+    }
+
+    /**
+     * @return the piece-placement field alone, ranks 8 to 1 separated by '/'
+     */
+    public static String toPlacement(ChessBoard board) {
+        StringBuilder placement = new StringBuilder(72);
+        appendPlacement(placement, board);
+        return placement.toString();
+    }
+
+    /**
+     * Parses a full FEN record. The halfmove clock and fullmove number may be left off, as many tools do.
+     * Castling rights are only kept for kings and rooks that actually stand on their home squares.
+     *
+     * @throws IllegalArgumentException if the text is not valid FEN
+     */
+    public static ChessGame parse(String fen) {
+        Cursor cursor = new Cursor(fen);
+        ChessBoard board = parsePlacement(fen, cursor);
+
+        cursor.expectSpace();
+        ChessGame.TeamColor turn = switch (cursor.next()) {
+            case 'w' -> ChessGame.TeamColor.WHITE;
+            case 'b' -> ChessGame.TeamColor.BLACK;
+            default -> throw cursor.error("side to move");
+        };
+
+        cursor.expectSpace();
+        int rights = Castling.NONE;
+        if (cursor.peek() == '-') {
+            cursor.next();
+        } else {
+            while (cursor.hasNext() && cursor.peek() != ' ') {
+                rights |= switch (cursor.next()) {
+                    case 'K' -> Castling.WHITE_KING_SIDE;
+                    case 'Q' -> Castling.WHITE_QUEEN_SIDE;
+                    case 'k' -> Castling.BLACK_KING_SIDE;
+                    case 'q' -> Castling.BLACK_QUEEN_SIDE;
+                    default -> throw cursor.error("castling rights");
+                };
+            }
+        }
+
+        cursor.expectSpace();
+        int enPassant = ChessGame.NO_SQUARE;
+        if (cursor.peek() == '-') {
+            cursor.next();
+        } else {
+            int file = cursor.next() - 'a';
+            int rank = cursor.next() - '1';
+            // The target is behind a pawn the opponent just pushed: rank 6 with white to move, rank 3 with black
+            int expectedRank = (turn == ChessGame.TeamColor.WHITE) ? 5 : 2;
+            if (file < 0 || file > 7 || rank != expectedRank) {
+                throw cursor.error("en passant square");
+            }
+            enPassant = rank * 8 + file;
+        }
+
+        int halfmoveClock = 0;
+        int fullmoveNumber = 1;
+        if (cursor.hasNext()) {
+            cursor.expectSpace();
+            halfmoveClock = cursor.nextNumber("halfmove clock");
+            cursor.expectSpace();
+            fullmoveNumber = cursor.nextNumber("fullmove number");
+        }
+        if (cursor.hasNext()) {
+            throw cursor.error("end of input");
+        }
+
+        ChessGame game = new ChessGame();
+        game.setBoard(board);
+        game.setTeamTurn(turn);
+        game.restoreState(rights & Castling.fromBoard(board), enPassant, halfmoveClock, Math.max(fullmoveNumber, 1),
+                new KeyHistory());
+        return game;
+    }
+
+    /**
+     * Parses the piece-placement field alone.
+     *
+     * @throws IllegalArgumentException if the text is not a valid placement
+     */
+    public static ChessBoard parsePlacement(String placement) {
+        Cursor cursor = new Cursor(placement);
+        ChessBoard board = parsePlacement(placement, cursor);
+        if (cursor.hasNext()) {
+            throw cursor.error("end of placement");
+        }
+        return board;
+    }
+
+    private static ChessBoard parsePlacement(String text, Cursor cursor) {
+        ChessBoard board = new ChessBoard();
+        int rank = 7;
+        int file = 0;
+        while (cursor.hasNext() && cursor.peek() != ' ') {
+            char c = cursor.next();
+            if (c == '/') {
+                if (file != 8 || rank == 0) {
+                    throw cursor.error("rank separator");
+                }
+                rank--;
+                file = 0;
+            } else if (c >= '1' && c <= '8') {
+                file += c - '0';
+            } else {
+                int type = PIECE_LETTERS.indexOf(Character.toUpperCase(c));
+                if (type < 0 || file > 7) {
+                    throw cursor.error("piece");
+                }
+                ChessGame.TeamColor color = Character.isUpperCase(c) ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+                board.setPiece(rank * 8 + file, ChessPiece.of(color, TYPES[type]));
+                file++;
+            }
+            if (file > 8) {
+                throw cursor.error("rank length");
+            }
+        }
+        if (rank != 0 || file != 8) {
+            throw new IllegalArgumentException("Incomplete piece placement in FEN: " + text);
+        }
+        return board;
+    }
+
+    private static void appendPlacement(StringBuilder fen, ChessBoard board) {
+        for (int rank = 7; rank >= 0; rank--) {
+            int empty = 0;
+            for (int file = 0; file < 8; file++) {
+                ChessPiece piece = board.pieceAt(rank * 8 + file);
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                char letter = PIECE_LETTERS.charAt(typeIndex(piece.getPieceType()));
+                fen.append(piece.getTeamColor() == ChessGame.TeamColor.WHITE ? letter : Character.toLowerCase(letter));
+            }
+            if (empty > 0) {
+                fen.append((char) ('0' + empty));
+            }
+            if (rank > 0) {
+                fen.append('/');
+            }
+        }
+    }
+
+    private static int typeIndex(ChessPiece.PieceType type) {
+        return switch (type) {
+            case PAWN -> 0;
+            case KNIGHT -> 1;
+            case BISHOP -> 2;
+            case ROOK -> 3;
+            case QUEEN -> 4;
+            case KING -> 5;
+        };
+    }
+
+    private static void appendIf(StringBuilder fen, int rights, int right, char letter) {
+        if ((rights & right) != 0) {
+            fen.append(letter);
+        }
+    }
+
+    /**
+     * Read position in the FEN text, with the error reporting shared by all fields.
+     */
+    private static final class Cursor {
+        private final String text;
+        private int index;
+
+        Cursor(String text) {
+            if (text == null) {
+                throw new IllegalArgumentException("FEN must not be null.");
+            }
+            this.text = text.strip();
+        }
+
+        boolean hasNext() {
+            return index < text.length();
+        }
+
+        char peek() {
+            if (!hasNext()) {
+                throw new IllegalArgumentException("Unexpected end of FEN: " + text);
+            }
+            return text.charAt(index);
+        }
+
+        char next() {
+            char c = peek();
+            index++;
+            return c;
+        }
+
+        void expectSpace() {
+            if (next() != ' ') {
+                throw error("space");
+            }
+            while (hasNext() && text.charAt(index) == ' ') {
+                index++;
+            }
+        }
+
+        int nextNumber(String field) {
+            int start = index;
+            int value = 0;
+            while (hasNext() && Character.isDigit(text.charAt(index))) {
+                value = value * 10 + (text.charAt(index++) - '0');
+                if (value > 100_000) {
+                    throw error(field);
+                }
+            }
+            if (index == start) {
+                throw error(field);
+            }
+            return value;
+        }
+
+        IllegalArgumentException error(String expected) {
+            return new IllegalArgumentException("Invalid FEN, bad " + expected + " at index " + Math.max(index - 1, 0)
+                    + ": " + text);
+        }
+    }
+}
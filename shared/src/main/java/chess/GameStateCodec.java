@@ -0,0 +1,183 @@
+package chess;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Compact, versioned binary encoding of a {@link ChessGame}.
+ * <p>
+ * Version 2 layout (version 1 is the same without the fullmove number, and is still read):
+ * <ul>
+ *     <li>1 byte: format version</li>
+ *     <li>8 bytes: occupancy bitboard (squares as in {@link Bitboards})</li>
+ *     <li>one 4-bit piece code (color * 6 + type) per occupied square, lowest square first, two per byte</li>
+ *     <li>1 byte: bit 0 black to move, bit 1 game over, bits 4-7 castling rights</li>
+ *     <li>1 byte: en passant target square, or 0xFF for none</li>
+ *     <li>1 byte: cached {@link ChessGame.GameStatus} ordinal + 1, or 0 if not cached</li>
+ *     <li>varint halfmove clock, varint fullmove number</li>
+ *     <li>varint history length, then 8 bytes per history key</li>
+ * </ul>
+ * The starting position takes 31 bytes, against roughly 2 KB for the JSON form.
+ */
+public final class GameStateCodec {
+
+    /** Format version written by {@link #encode(ChessGame)}. */
+    public static final int VERSION = 2;
+
+    private static final int BLACK_TO_MOVE = 1;
+    private static final int GAME_OVER = 1 << 1;
+    private static final int CASTLING_SHIFT = 4;
+    private static final int NO_SQUARE = 0xFF;
+
+    private static final ChessPiece[] PIECES = new ChessPiece[2 * Bitboards.PIECE_TYPES];
+    private static final ChessGame.GameStatus[] STATUSES = ChessGame.GameStatus.values();
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                PIECES[Bitboards.pieceIndex(color, type)] = ChessPiece.of(color, type);
+            }
+        }
+    }
+
+    private GameStateCodec() {
+    }
+
+    public static byte[] encode(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+
+            long occupied = board.occupied();
+            out.writeLong(occupied);
+            int pending = -1;
+            for (long rest = occupied; rest != 0; rest &= rest - 1) {
+                ChessPiece piece = board.pieceAt(Long.numberOfTrailingZeros(rest));
+                int code = Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType());
+                if (pending < 0) {
+                    pending = code;
+                } else {
+                    out.writeByte(pending | (code << 4));
+                    pending = -1;
+                }
+            }
+            if (pending >= 0) {
+                out.writeByte(pending);
+            }
+
+            int flags = (game.castlingRights() << CASTLING_SHIFT);
+            if (game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+                flags |= BLACK_TO_MOVE;
+            }
+            if (game.isGameOver()) {
+                flags |= GAME_OVER;
+            }
+            out.writeByte(flags);
+            out.writeByte(game.enPassantSquare() < 0 ? NO_SQUARE : game.enPassantSquare());
+            ChessGame.GameStatus status = game.cachedStatus();
+            out.writeByte(status == null ? 0 : status.ordinal() + 1);
+
+            KeyHistory history = game.history();
+            writeVarInt(out, game.getHalfmoveClock());
+            writeVarInt(out, game.getFullmoveNumber());
+            writeVarInt(out, history.size());
+            for (int i = 0; i < history.size(); i++) {
+                out.writeLong(history.get(i));
+            }
+        } catch (IOException e) {
+            // Writing to memory cannot fail
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is truncated, malformed or of an unknown version
+     */
+    public static ChessGame decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readUnsignedByte();
+            if (version < 1 || version > VERSION) {
+                throw new IllegalArgumentException("Unsupported game state version: " + version);
+            }
+
+            ChessBoard board = new ChessBoard();
+            long occupied = in.readLong();
+            int packed = 0;
+            boolean high = false;
+            for (long rest = occupied; rest != 0; rest &= rest - 1) {
+                int code;
+                if (high) {
+                    code = packed >>> 4;
+                } else {
+                    packed = in.readUnsignedByte();
+                    code = packed & 0xF;
+                }
+                high = !high;
+                if (code >= PIECES.length) {
+                    throw new IllegalArgumentException("Invalid piece code: " + code);
+                }
+                board.setPiece(Long.numberOfTrailingZeros(rest), PIECES[code]);
+            }
+
+            int flags = in.readUnsignedByte();
+            int enPassant = in.readUnsignedByte();
+            int status = in.readUnsignedByte();
+            int halfmoveClock = readVarInt(in);
+            int fullmoveNumber = (version >= 2) ? readVarInt(in) : 1;
+            int historySize = readVarInt(in);
+            // The size comes from the data, so check it against what is left before allocating for it
+            if (historySize < 0 || historySize > in.available() / Long.BYTES) {
+                throw new IllegalArgumentException("Malformed game state.");
+            }
+            KeyHistory history = new KeyHistory(historySize);
+            for (int i = 0; i < historySize; i++) {
+                history.push(in.readLong());
+            }
+            if (status > STATUSES.length || (enPassant != NO_SQUARE && enPassant > 63)) {
+                throw new IllegalArgumentException("Malformed game state.");
+            }
+
+            ChessGame game = new ChessGame();
+            game.setBoard(board);
+            game.setTeamTurn((flags & BLACK_TO_MOVE) != 0 ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE);
+            game.setGameOver((flags & GAME_OVER) != 0);
+            game.restoreState(flags >>> CASTLING_SHIFT, enPassant == NO_SQUARE ? ChessGame.NO_SQUARE : enPassant,
+                    halfmoveClock, fullmoveNumber, history);
+            if (status > 0) {
+                game.cacheStatus(STATUSES[status - 1]);
+            }
+            return game;
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Truncated game state.", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+}
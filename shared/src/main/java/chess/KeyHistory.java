@@ -0,0 +1,84 @@
+package chess;
+
+import com.google.gson.annotations.JsonAdapter;
+
+import java.util.Arrays;
+
+/**
+ * The Zobrist keys of the positions that came before the current one, oldest first.
+ * <p>
+ * A position can only repeat one seen since the last capture or pawn move, so the game trims the
+ * history back to that point after every move it keeps. That bounds both the repetition scan and the
+ * serialized size by the fifty-move rule, however long the game runs.
+ */
+@JsonAdapter(KeyHistoryAdapter.class)
+final class KeyHistory {
+
+    private long[] keys;
+    private int size;
+
+    KeyHistory() {
+        this(16);
+    }
+
+    KeyHistory(int capacity) {
+        this.keys = new long[Math.max(capacity, 1)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return keys[index];
+    }
+
+    void push(long key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        keys[size++] = key;
+    }
+
+    void pop() {
+        if (size == 0) {
+            throw new IllegalStateException("History is empty.");
+        }
+        size--;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Drops all but the newest {@code count} keys.
+     */
+    void retainLast(int count) {
+        if (count >= size) {
+            return;
+        }
+        int keep = Math.max(count, 0);
+        System.arraycopy(keys, size - keep, keys, 0, keep);
+        size = keep;
+    }
+
+    /**
+     * Counts earlier occurrences of {@code key} with the same side to move, looking back at most
+     * {@code plies} keys (the halfmove clock), since nothing older can match.
+     */
+    int repetitions(long key, int plies) {
+        int oldest = Math.max(size - plies, 0);
+        int count = 0;
+        // The newest key is the position before the last move, with the other side to move, so start one further back
+        for (int i = size - 2; i >= oldest; i -= 2) {
+            if (keys[i] == key) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,284 @@
+package chess;
+
+/**
+ * Generates strictly legal moves for one team on a board.
+ * <p>
+ * Checking pieces and pinned pieces are worked out once when the generator is created. After that,
+ * a piece's legal destinations are its attack pattern intersected with the squares that resolve any
+ * check and, for a pinned piece, the line it is pinned along. Only king moves need an attack test
+ * per destination. When the king is not in check and the piece is not pinned, its pseudo-legal
+ * moves are emitted as-is.
+ * <p>
+ * Castling and en passant depend on game state the board does not carry, so the caller passes the
+ * current castling rights and en passant target in. Both are checked separately: castling needs the
+ * squares the king crosses to be safe, and en passant is tested by taking both pawns off the board,
+ * which also catches the rare case of the two pawns shielding the king along a rank.
+ */
+final class MoveGenerator {
+
+    private static final long RANK_1 = 0xFFL;
+    private static final long RANK_8 = 0xFFL << 56;
+
+    private final ChessBoard board;
+    private final ChessGame.TeamColor us;
+    private final ChessGame.TeamColor them;
+    private final long ours;
+    private final long theirs;
+    private final long occupied;
+    private final int kingSquare;
+    private final long checkers;
+    private final long pinned;
+    private final long checkMask;
+    private final int castlingRights;
+    private final int enPassantSquare;
+
+    /**
+     * @param castlingRights  the game's {@link Castling} rights
+     * @param enPassantSquare the square a pawn of {@code us} may capture onto en passant, or -1 if none
+     */
+    MoveGenerator(ChessBoard board, ChessGame.TeamColor us, int castlingRights, int enPassantSquare) {
+        this.board = board;
+        this.us = us;
+        this.castlingRights = castlingRights;
+        this.enPassantSquare = enPassantSquare;
+        this.them = us.opponent();
+        this.ours = board.occupancy(us);
+        this.theirs = board.occupancy(them);
+        this.occupied = ours | theirs;
+        this.kingSquare = board.kingSquare(us);
+
+        if (kingSquare < 0) {
+            // Without a king nothing can be in check or pinned, so every pseudo-legal move is legal
+            this.checkers = 0L;
+            this.pinned = 0L;
+            this.checkMask = ~0L;
+            return;
+        }
+
+        this.checkers = board.attackersTo(kingSquare, them, occupied);
+        this.pinned = findPinned();
+        if (checkers == 0) {
+            this.checkMask = ~0L;
+        } else if (Long.bitCount(checkers) == 1) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            this.checkMask = checkers | Attacks.between(kingSquare, checker);
+        } else {
+            this.checkMask = 0L;
+        }
+    }
+
+    boolean inCheck() {
+        return checkers != 0;
+    }
+
+    /**
+     * Adds every legal move of the piece standing on {@code from} to {@code moves}.
+     */
+    void addLegalMoves(int from, MoveList moves) {
+        ChessPiece piece = board.pieceAt(from);
+        if (piece == null || piece.getTeamColor() != us) {
+            return;
+        }
+        addMoves(from, piece, legalTargets(from, piece), moves);
+        addSpecialMoves(from, piece, moves);
+    }
+
+    /**
+     * Adds every legal move of the team to {@code moves}.
+     */
+    void addAllLegalMoves(MoveList moves) {
+        long pieces = ours;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            ChessPiece piece = board.pieceAt(from);
+            addMoves(from, piece, legalTargets(from, piece), moves);
+            addSpecialMoves(from, piece, moves);
+        }
+    }
+
+    /**
+     * @return whether the team has at least one legal move, stopping at the first one found
+     */
+    boolean hasLegalMove() {
+        long pieces = ours;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if (legalTargets(from, board.pieceAt(from)) != 0) {
+                return true;
+            }
+        }
+        // A legal castle implies a legal single king step, but en passant can be the only move left
+        return canCaptureEnPassant();
+    }
+
+    private long legalTargets(int from, ChessPiece piece) {
+        if (piece.getPieceType() == ChessPiece.PieceType.KING && from == kingSquare) {
+            return kingTargets(from);
+        }
+        // In double check only the king may move
+        if (checkMask == 0) {
+            return 0L;
+        }
+        long targets = pseudoLegalTargets(from, piece) & checkMask;
+        if ((pinned & Bitboards.bit(from)) != 0) {
+            targets &= Attacks.line(kingSquare, from);
+        }
+        return targets;
+    }
+
+    private long kingTargets(int from) {
+        long candidates = Attacks.kingAttacks(from) & ~ours;
+        // Lift the king off the board so sliders checking along the line it retreats on still see through it
+        long withoutKing = occupied ^ Bitboards.bit(from);
+        long targets = 0L;
+        while (candidates != 0) {
+            int to = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if (board.attackersTo(to, them, withoutKing) == 0) {
+                targets |= Bitboards.bit(to);
+            }
+        }
+        return targets;
+    }
+
+    private long pseudoLegalTargets(int from, ChessPiece piece) {
+        return switch (piece.getPieceType()) {
+            case PAWN -> pawnTargets(from);
+            case KNIGHT -> Attacks.knightAttacks(from) & ~ours;
+            case BISHOP -> Attacks.bishopAttacks(from, occupied) & ~ours;
+            case ROOK -> Attacks.rookAttacks(from, occupied) & ~ours;
+            case QUEEN -> Attacks.queenAttacks(from, occupied) & ~ours;
+            case KING -> Attacks.kingAttacks(from) & ~ours;
+        };
+    }
+
+    private long pawnTargets(int from) {
+        long empty = ~occupied;
+        long pawn = Bitboards.bit(from);
+        long targets;
+        if (us == ChessGame.TeamColor.WHITE) {
+            long single = (pawn << 8) & empty;
+            long twoSteps = ((single & (RANK_1 << 16)) << 8) & empty;
+            targets = single | twoSteps;
+        } else {
+            long single = (pawn >>> 8) & empty;
+            long twoSteps = ((single & (RANK_1 << 40)) >>> 8) & empty;
+            targets = single | twoSteps;
+        }
+        return targets | (Attacks.pawnAttacks(us, from) & theirs);
+    }
+
+    /**
+     * Pieces of ours that are the only thing standing between our king and an enemy slider.
+     */
+    private long findPinned() {
+        long rookLike = board.pieces(them, ChessPiece.PieceType.ROOK) | board.pieces(them, ChessPiece.PieceType.QUEEN);
+        long bishopLike = board.pieces(them, ChessPiece.PieceType.BISHOP) | board.pieces(them, ChessPiece.PieceType.QUEEN);
+        long snipers = (Attacks.rookAttacks(kingSquare, 0L) & rookLike)
+                | (Attacks.bishopAttacks(kingSquare, 0L) & bishopLike);
+
+        long result = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(kingSquare, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1) {
+                result |= blockers & ours;
+            }
+        }
+        return result;
+    }
+
+    private void addSpecialMoves(int from, ChessPiece piece, MoveList moves) {
+        switch (piece.getPieceType()) {
+            case KING -> {
+                if (from == kingSquare) {
+                    addCastle(true, moves);
+                    addCastle(false, moves);
+                }
+            }
+            case PAWN -> {
+                if (enPassantSquare >= 0 && (Attacks.pawnAttacks(us, from) & Bitboards.bit(enPassantSquare)) != 0
+                        && isLegalEnPassant(from)) {
+                    moves.add(PackedMove.encode(from, enPassantSquare, null, PackedMove.CAPTURE | PackedMove.EN_PASSANT));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void addCastle(boolean kingSide, MoveList moves) {
+        if ((castlingRights & Castling.right(us, kingSide)) == 0 || checkers != 0
+                || kingSquare != Castling.kingHome(us)) {
+            return;
+        }
+        int rook = Castling.rookHome(us, kingSide);
+        if ((board.pieces(us, ChessPiece.PieceType.ROOK) & Bitboards.bit(rook)) == 0
+                || (Attacks.between(kingSquare, rook) & occupied) != 0) {
+            return;
+        }
+        int passed = Castling.rookTarget(us, kingSide);
+        int target = Castling.kingTarget(us, kingSide);
+        if (board.attackersTo(passed, them, occupied) != 0 || board.attackersTo(target, them, occupied) != 0) {
+            return;
+        }
+        moves.add(PackedMove.encode(kingSquare, target, null, PackedMove.CASTLE));
+    }
+
+    private boolean canCaptureEnPassant() {
+        if (enPassantSquare < 0) {
+            return false;
+        }
+        long capturers = Attacks.pawnAttacks(them, enPassantSquare) & board.pieces(us, ChessPiece.PieceType.PAWN);
+        while (capturers != 0) {
+            int from = Long.numberOfTrailingZeros(capturers);
+            capturers &= capturers - 1;
+            if (isLegalEnPassant(from)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays the capture on a scratch occupancy and checks that nothing but the captured pawn attacks our king.
+     */
+    private boolean isLegalEnPassant(int from) {
+        int captured = enPassantCapturedSquare();
+        if ((board.pieces(them, ChessPiece.PieceType.PAWN) & Bitboards.bit(captured)) == 0) {
+            return false;
+        }
+        if (kingSquare < 0) {
+            return true;
+        }
+        long after = (occupied ^ Bitboards.bit(from) ^ Bitboards.bit(captured)) | Bitboards.bit(enPassantSquare);
+        return (board.attackersTo(kingSquare, them, after) & ~Bitboards.bit(captured)) == 0;
+    }
+
+    private int enPassantCapturedSquare() {
+        return (us == ChessGame.TeamColor.WHITE) ? enPassantSquare - 8 : enPassantSquare + 8;
+    }
+
+    private void addMoves(int from, ChessPiece piece, long targets, MoveList moves) {
+        boolean pawn = piece.getPieceType() == ChessPiece.PieceType.PAWN;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            int flags = ((theirs & Bitboards.bit(to)) != 0) ? PackedMove.CAPTURE : 0;
+            if (pawn && (Bitboards.bit(to) & (RANK_1 | RANK_8)) != 0) {
+                moves.add(PackedMove.encode(from, to, ChessPiece.PieceType.QUEEN, flags));
+                moves.add(PackedMove.encode(from, to, ChessPiece.PieceType.ROOK, flags));
+                moves.add(PackedMove.encode(from, to, ChessPiece.PieceType.BISHOP, flags));
+                moves.add(PackedMove.encode(from, to, ChessPiece.PieceType.KNIGHT, flags));
+            } else {
+                if (pawn && Math.abs(to - from) == 16) {
+                    flags |= PackedMove.DOUBLE_PUSH;
+                }
+                moves.add(PackedMove.encode(from, to, null, flags));
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A reusable, growable buffer of {@link PackedMove packed moves}.
+ * <p>
+ * Callers that generate many moves (bots, analysis, perft) should keep one list per search depth and
+ * {@link #clear()} it between positions, so move generation allocates nothing once the buffers have grown.
+ */
+public final class MoveList {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] moves;
+    private int size;
+
+    public MoveList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveList(int capacity) {
+        this.moves = new int[Math.max(capacity, 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the packed move at {@code index}
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return moves[index];
+    }
+
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[size++] = move;
+    }
+
+    /**
+     * @return the packed move with the same start, end and promotion as {@code move}, or -1 if absent
+     */
+    public int find(ChessMove move) {
+        for (int i = 0; i < size; i++) {
+            if (PackedMove.matches(moves[i], move)) {
+                return moves[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Materializes the buffer as {@link ChessMove} objects.
+     */
+    public List<ChessMove> toChessMoves() {
+        List<ChessMove> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(PackedMove.toChessMove(moves[i]));
+        }
+        return result;
+    }
+}
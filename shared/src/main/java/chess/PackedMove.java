@@ -0,0 +1,64 @@
+package chess;
+
+/**
+ * Encodes a move as a single {@code int} so move lists can be kept in primitive arrays.
+ * <p>
+ * Layout, from the least significant bit: 6 bits start square, 6 bits end square, 3 bits promotion
+ * piece (0 for none, otherwise {@link ChessPiece.PieceType#ordinal()} + 1), then flag bits. Squares use
+ * the numbering described in {@link Bitboards}. Use {@link #toChessMove(int)} to convert to the
+ * object form at API boundaries.
+ */
+public final class PackedMove {
+
+    /** The move captures a piece. */
+    public static final int CAPTURE = 1 << 15;
+    /** A pawn advancing two squares from its starting row. */
+    public static final int DOUBLE_PUSH = 1 << 16;
+    /** A king move of two squares; the rook on that side moves with it. */
+    public static final int CASTLE = 1 << 17;
+    /** A pawn capturing en passant; the captured pawn is not on the destination square. Also flagged as {@link #CAPTURE}. */
+    public static final int EN_PASSANT = 1 << 18;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private PackedMove() {
+    }
+
+    public static int encode(int from, int to, ChessPiece.PieceType promotion, int flags) {
+        int promotionBits = (promotion == null) ? 0 : promotion.ordinal() + 1;
+        return from | (to << 6) | (promotionBits << 12) | flags;
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * @return the promotion piece type, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int bits = (move >>> 12) & 0x7;
+        return (bits == 0) ? null : TYPES[bits - 1];
+    }
+
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * @return whether the packed move has the same start, end and promotion as {@code move}
+     */
+    public static boolean matches(int packed, ChessMove move) {
+        return from(packed) == Bitboards.square(move.getStartPosition())
+                && to(packed) == Bitboards.square(move.getEndPosition())
+                && promotion(packed) == move.getPromotionPiece();
+    }
+
+    public static ChessMove toChessMove(int move) {
+        return new ChessMove(ChessPosition.of(from(move)), ChessPosition.of(to(move)), promotion(move));
+    }
+}
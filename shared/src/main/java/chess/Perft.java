@@ -0,0 +1,129 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Perft ("performance test") driver: counts the leaf nodes of the legal move tree to a fixed depth.
+ * <p>
+ * The counts for well-known positions are published, so perft checks move generation for correctness,
+ * and timing it gives a nodes-per-second figure for the whole make/generate/unmake cycle.
+ * <p>
+ * Run with {@code java chess.Perft [startpos|kiwipete] [depth]} to print a divide (node count per root
+ * move) followed by the total and the throughput.
+ */
+public final class Perft {
+
+    /** Piece placement of the standard starting position. */
+    public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR";
+    /** Piece placement of "Kiwipete", a middlegame position that exercises pins, checks and promotions. */
+    public static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R";
+
+    private static final int MAX_DEPTH = 64;
+
+    private Perft() {
+    }
+
+    /**
+     * @return the number of leaf positions reachable from {@code game} in exactly {@code depth} plies
+     */
+    public static long perft(ChessGame game, int depth) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 0 and " + MAX_DEPTH + ".");
+        }
+        MoveList[] lists = new MoveList[Math.max(depth, 1)];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        return perft(game, depth, lists);
+    }
+
+    /**
+     * @return node counts below each legal root move, keyed by the move in coordinate notation (e.g. "e2e4")
+     */
+    public static Map<String, Long> divide(ChessGame game, int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MAX_DEPTH + ".");
+        }
+        MoveList[] lists = new MoveList[depth];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new MoveList();
+        }
+        MoveList rootMoves = lists[depth - 1];
+        game.legalMoves(rootMoves);
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < rootMoves.size(); i++) {
+            int move = rootMoves.get(i);
+            ChessGame.MoveUndo undo = game.doMove(move);
+            result.put(coordinateNotation(move), perft(game, depth - 1, lists));
+            game.undoMove(undo);
+        }
+        return result;
+    }
+
+    private static long perft(ChessGame game, int depth, MoveList[] lists) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = lists[depth - 1];
+        game.legalMoves(moves);
+        // Bulk counting: the last ply only needs the number of legal moves, not to play them
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            ChessGame.MoveUndo undo = game.doMove(moves.get(i));
+            nodes += perft(game, depth - 1, lists);
+            game.undoMove(undo);
+        }
+        return nodes;
+    }
+
+    /**
+     * Builds a game from the piece-placement field of a FEN string (ranks 8 to 1, separated by '/'), with
+     * castling allowed for every king and rook on its home square. Use {@link Fen#parse(String)} for full FEN.
+     */
+    public static ChessGame position(String placement, ChessGame.TeamColor turn) {
+        ChessGame game = new ChessGame();
+        game.setBoard(Fen.parsePlacement(placement));
+        game.setTeamTurn(turn);
+        return game;
+    }
+
+    private static String coordinateNotation(int move) {
+        String text = Bitboards.squareName(PackedMove.from(move)) + Bitboards.squareName(PackedMove.to(move));
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+        if (promotion == null) {
+            return text;
+        }
+        return text + switch (promotion) {
+            case QUEEN -> 'q';
+            case ROOK -> 'r';
+            case BISHOP -> 'b';
+            default -> 'n';
+        };
+    }
+
+    public static void main(String[] args) {
+        String name = (args.length > 0) ? args[0] : "startpos";
+        int depth = (args.length > 1) ? Integer.parseInt(args[1]) : 5;
+        String placement = name.equalsIgnoreCase("kiwipete") ? KIWIPETE : START_POSITION;
+        ChessGame game = position(placement, ChessGame.TeamColor.WHITE);
+
+        long start = System.nanoTime();
+        Map<String, Long> divide = divide(game, depth);
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : divide.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        double seconds = elapsed / 1e9;
+        System.out.println();
+        System.out.println("Nodes searched: " + total);
+        System.out.printf("Time: %.3f s (%.0f nodes/s)%n", seconds, total / seconds);
+    }
+}
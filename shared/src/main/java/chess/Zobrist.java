@@ -0,0 +1,63 @@
+package chess;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys for Zobrist hashing of positions.
+ * <p>
+ * A position's key is the XOR of one key per (piece, square) pair on the board plus keys for the
+ * side to move, the castling rights and the en passant file, so a move updates it by XOR-ing out and
+ * in only the squares it changes. The keys come from a fixed seed, which keeps them stable across runs
+ * and between the server and clients.
+ */
+final class Zobrist {
+
+    private static final long[][] PIECE_SQUARE = new long[2 * Bitboards.PIECE_TYPES][64];
+    private static final long BLACK_TO_MOVE;
+    private static final long[] CASTLING = new long[Castling.ALL + 1];
+    private static final long[] EN_PASSANT_FILE = new long[8];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_C4E55L);
+        for (long[] squares : PIECE_SQUARE) {
+            for (int square = 0; square < 64; square++) {
+                squares[square] = random.nextLong();
+            }
+        }
+        BLACK_TO_MOVE = random.nextLong();
+        // Each right gets its own key and a combination is the XOR of its parts, like the pieces
+        long[] rightKeys = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for (int rights = 0; rights < CASTLING.length; rights++) {
+            for (int bit = 0; bit < rightKeys.length; bit++) {
+                if ((rights & (1 << bit)) != 0) {
+                    CASTLING[rights] ^= rightKeys[bit];
+                }
+            }
+        }
+        for (int file = 0; file < EN_PASSANT_FILE.length; file++) {
+            EN_PASSANT_FILE[file] = random.nextLong();
+        }
+    }
+
+    private Zobrist() {
+    }
+
+    static long piece(ChessPiece piece, int square) {
+        return PIECE_SQUARE[Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType())][square];
+    }
+
+    static long sideToMove(ChessGame.TeamColor turn) {
+        return (turn == ChessGame.TeamColor.BLACK) ? BLACK_TO_MOVE : 0L;
+    }
+
+    static long castling(int rights) {
+        return CASTLING[rights];
+    }
+
+    /**
+     * @return the key for an en passant target square, or 0 when there is none ({@code square < 0})
+     */
+    static long enPassant(int square) {
+        return (square < 0) ? 0L : EN_PASSANT_FILE[square & 7];
+    }
+}
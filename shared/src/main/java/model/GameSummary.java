@@ -0,0 +1,11 @@
+package model;
+
+/**
+ * 게임 목록용 GameData: 게임 상태 없이 ID, 이름, 플레이어만 담음
+ */
+public record GameSummary(int gameID, String whiteUsername, String blackUsername, String gameName) {
+
+    public static GameSummary of(GameData game) {
+        return new GameSummary(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName());
+    }
+}
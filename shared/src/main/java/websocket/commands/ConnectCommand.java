@@ -0,0 +1,47 @@
+package websocket.commands;
+
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * CONNECT with optional choices of how the server sends positions: the format of LOAD_GAME messages,
+ * and whether moves arrive as {@link websocket.messages.MoveMessage MOVE} deltas instead of a LOAD_GAME
+ * after every move. A plain {@link UserGameCommand} CONNECT gets a full game object after every move.
+ */
+public class ConnectCommand extends UserGameCommand {
+
+    @Expose
+    @SerializedName("positionFormat")
+    private final PositionFormat positionFormat;
+    @Expose
+    @SerializedName("deltaUpdates")
+    private final boolean deltaUpdates;
+
+    public ConnectCommand(String authToken, Integer gameID, PositionFormat positionFormat) {
+        this(authToken, gameID, positionFormat, false);
+    }
+
+    public ConnectCommand(String authToken, Integer gameID, PositionFormat positionFormat, boolean deltaUpdates) {
+        super(CommandType.CONNECT, authToken, gameID);
+        this.positionFormat = positionFormat;
+        this.deltaUpdates = deltaUpdates;
+    }
+
+    public PositionFormat getPositionFormat() {
+        return (positionFormat == null) ? PositionFormat.GAME : positionFormat;
+    }
+
+    /**
+     * @return whether the connection wants MOVE deltas; LOAD_GAME is then only sent on connect and on RESYNC
+     */
+    public boolean wantsDeltaUpdates() {
+        return deltaUpdates;
+    }
+
+    public enum PositionFormat {
+        /** LOAD_GAME carries the whole {@link chess.ChessGame} object. */
+        GAME,
+        /** LOAD_GAME carries only a FEN string, see {@link chess.Fen}. */
+        FEN
+    }
+}
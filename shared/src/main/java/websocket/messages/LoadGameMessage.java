@@ -1,19 +1,53 @@
 package websocket.messages;
 
 import chess.ChessGame;
+import chess.Fen;
 import com.google.gson.annotations.Expose;
 
 public class LoadGameMessage extends ServerMessage {
 
     @Expose
     private final ChessGame game;
+    @Expose
+    private final String fen;
 
     public LoadGameMessage(ChessGame game) {
         super(ServerMessageType.LOAD_GAME);
         this.game = game;
+        this.fen = null;
+    }
+
+    private LoadGameMessage(String fen) {
+        super(ServerMessageType.LOAD_GAME);
+        this.game = null;
+        this.fen = fen;
+    }
+
+    /**
+     * @return a LOAD_GAME carrying the position as FEN only, for connections that asked for it
+     */
+    public static LoadGameMessage fen(ChessGame game) {
+        return new LoadGameMessage(Fen.toFen(game));
     }
 
+    /**
+     * @return the game object, or null if this message carries FEN
+     */
     public ChessGame getGame() {
         return game;
     }
+
+    /**
+     * @return the position as FEN, or null if this message carries the game object
+     */
+    public String getFen() {
+        return fen;
+    }
+
+    /**
+     * @return the game, parsing the FEN if that is what was sent
+     */
+    public ChessGame toGame() {
+        return (game != null || fen == null) ? game : Fen.parse(fen);
+    }
 }
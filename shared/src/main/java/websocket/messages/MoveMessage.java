@@ -0,0 +1,44 @@
+package websocket.messages;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import com.google.gson.annotations.Expose;
+
+/**
+ * A move that was just played, sent instead of a full LOAD_GAME to connections that asked for deltas.
+ * <p>
+ * {@code sequence} is the game's ply count after the move, so consecutive MOVE messages count up by
+ * one. A client whose last known ply is not {@code sequence - 1} has missed an update and should send
+ * RESYNC to get a fresh LOAD_GAME.
+ */
+public class MoveMessage extends ServerMessage {
+
+    @Expose
+    private final ChessMove move;
+    @Expose
+    private final ChessGame.GameStatus status;
+    @Expose
+    private final int sequence;
+
+    public MoveMessage(ChessMove move, ChessGame.GameStatus status, int sequence) {
+        super(ServerMessageType.MOVE);
+        this.move = move;
+        this.status = status;
+        this.sequence = sequence;
+    }
+
+    public ChessMove getMove() {
+        return move;
+    }
+
+    /**
+     * @return the status of the side to move after the move
+     */
+    public ChessGame.GameStatus getStatus() {
+        return status;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+}
@@ -0,0 +1,83 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FenTest {
+
+    @Test
+    void startPosition() {
+        assertEquals(Fen.START_POSITION, Fen.toFen(new ChessGame()));
+
+        ChessGame parsed = Fen.parse(Fen.START_POSITION);
+        assertEquals(new ChessGame().getBoard(), parsed.getBoard());
+        assertEquals(new ChessGame().getZobristKey(), parsed.getZobristKey());
+    }
+
+    @Test
+    void movesUpdateEveryField() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+        assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1", Fen.toFen(game));
+
+        game.makeMove(new ChessMove(ChessPosition.of(8, 7), ChessPosition.of(6, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(1, 5), ChessPosition.of(2, 5), null));
+        assertEquals("rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPPKPPP/RNBQ1BNR b kq - 2 2", Fen.toFen(game));
+    }
+
+    @Test
+    void roundTrip() {
+        String[] positions = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+        };
+        for (String fen : positions) {
+            assertEquals(fen, Fen.toFen(Fen.parse(fen)));
+        }
+    }
+
+    @Test
+    void parsedPositionPlaysOn() {
+        ChessGame game = Fen.parse("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3");
+        assertTrue(game.validMoves(ChessPosition.of(5, 5))
+                .contains(new ChessMove(ChessPosition.of(5, 5), ChessPosition.of(6, 6), null)));
+        assertEquals(48, Perft.perft(Fen.parse(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -"), 1));
+    }
+
+    @Test
+    void castlingRightsNeedPiecesAtHome() {
+        ChessGame game = Fen.parse("4k3/8/8/8/8/8/8/4K2R w KQkq - 0 1");
+        assertEquals("4k3/8/8/8/8/8/8/4K2R w K - 0 1", Fen.toFen(game));
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        String[] invalid = {
+                "",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e5 0 1",
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - zero 1",
+        };
+        for (String fen : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> Fen.parse(fen), fen);
+        }
+    }
+
+    @Test
+    void enPassantSquareMustMatchSideToMove() {
+        String afterE4 = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR";
+        String afterE4E5 = "rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR";
+        assertEquals(Bitboards.square(ChessPosition.of(3, 5)), Fen.parse(afterE4 + " b KQkq e3 0 1").enPassantSquare());
+        assertEquals(Bitboards.square(ChessPosition.of(6, 5)), Fen.parse(afterE4E5 + " w KQkq e6 0 2").enPassantSquare());
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse(afterE4 + " w KQkq e3 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.parse(afterE4E5 + " b KQkq e6 0 2"));
+    }
+}
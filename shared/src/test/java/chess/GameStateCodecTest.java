@@ -0,0 +1,89 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateCodecTest {
+
+    @Test
+    void startPositionRoundTrip() {
+        ChessGame game = new ChessGame();
+        byte[] data = GameStateCodec.encode(game);
+        assertEquals(31, data.length);
+
+        ChessGame decoded = GameStateCodec.decode(data);
+        assertEquals(game.getBoard(), decoded.getBoard());
+        assertEquals(game.getTeamTurn(), decoded.getTeamTurn());
+        assertEquals(game.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    void roundTripKeepsGameState() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(ChessPosition.of(1, 7), ChessPosition.of(3, 6), null));
+        game.makeMove(new ChessMove(ChessPosition.of(7, 4), ChessPosition.of(5, 4), null));
+        game.makeMove(new ChessMove(ChessPosition.of(1, 8), ChessPosition.of(1, 7), null));
+        game.setGameOver(true);
+
+        ChessGame decoded = GameStateCodec.decode(GameStateCodec.encode(game));
+        assertEquals(game.getBoard(), decoded.getBoard());
+        assertEquals(ChessGame.TeamColor.BLACK, decoded.getTeamTurn());
+        assertEquals(game.castlingRights(), decoded.castlingRights());
+        assertEquals(game.getHalfmoveClock(), decoded.getHalfmoveClock());
+        assertEquals(game.history().size(), decoded.history().size());
+        assertEquals(game.getZobristKey(), decoded.getZobristKey());
+        assertEquals(ChessGame.GameStatus.ONGOING, decoded.cachedStatus());
+        assertTrue(decoded.isGameOver());
+    }
+
+    @Test
+    void roundTripKeepsEnPassantTarget() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+
+        ChessGame decoded = GameStateCodec.decode(GameStateCodec.encode(game));
+        assertEquals(ChessPosition.of(3, 5), decoded.getEnPassantTarget());
+        assertEquals(game.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    void copyIsIndependentOfOriginal() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null));
+
+        ChessGame copy = game.copy();
+        game.makeMove(new ChessMove(ChessPosition.of(7, 5), ChessPosition.of(5, 5), null));
+
+        assertEquals(ChessGame.TeamColor.BLACK, copy.getTeamTurn());
+        assertNull(copy.getBoard().getPiece(ChessPosition.of(5, 5)));
+        assertNotEquals(game.getZobristKey(), copy.getZobristKey());
+    }
+
+    @Test
+    void rejectsUnknownVersionAndTruncatedData() {
+        byte[] data = GameStateCodec.encode(new ChessGame());
+        byte[] future = data.clone();
+        future[0] = (byte) (GameStateCodec.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> GameStateCodec.decode(future));
+        assertThrows(IllegalArgumentException.class, () -> GameStateCodec.decode(Arrays.copyOf(data, 12)));
+    }
+
+    @Test
+    void rejectsHistorySizeLargerThanTheData() {
+        ChessGame game = new ChessGame();
+        byte[] data = GameStateCodec.encode(game);
+        // Cut off the history size and its keys, and put a forged size in their place
+        int headerLength = data.length - 1 - game.history().size() * Long.BYTES;
+        byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] tooMany = {0x02, 0, 0, 0, 0, 0, 0, 0, 1};
+        for (byte[] forged : new byte[][]{huge, negative, tooMany}) {
+            byte[] bytes = Arrays.copyOf(data, headerLength + forged.length);
+            System.arraycopy(forged, 0, bytes, headerLength, forged.length);
+            assertThrows(IllegalArgumentException.class, () -> GameStateCodec.decode(bytes));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStatusTest {
+
+    @Test
+    void foolsMateIsCheckmate() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        assertEquals(ChessGame.GameStatus.ONGOING, game.getStatus());
+        game.makeMove(move(2, 6, 3, 6));
+        game.makeMove(move(7, 5, 5, 5));
+        game.makeMove(move(2, 7, 4, 7));
+        game.makeMove(move(8, 4, 4, 8));
+
+        assertEquals(ChessGame.GameStatus.CHECKMATE, game.getStatus());
+        assertTrue(game.getStatus().isTerminal());
+        assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    void statusFollowsBoardChanges() {
+        ChessGame game = Perft.position("7k/5Q2/6K1/8/8/8/8/8", ChessGame.TeamColor.BLACK);
+        assertEquals(ChessGame.GameStatus.STALEMATE, game.getStatus());
+
+        // Edited through the board, not the game: the key changes, so the cached status is dropped
+        game.getBoard().addPiece(ChessPosition.of(7, 6), null);
+        game.getBoard().addPiece(ChessPosition.of(4, 4), ChessPiece.of(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.QUEEN));
+        assertEquals(ChessGame.GameStatus.CHECK, game.getStatus());
+    }
+
+    @Test
+    void bareKingsAreADraw() {
+        ChessGame game = Perft.position("8/8/4k3/8/8/3NK3/8/8", ChessGame.TeamColor.WHITE);
+        assertEquals(ChessGame.GameStatus.DRAW, game.getStatus());
+        assertFalse(game.isInStalemate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    void statusSurvivesSerialization() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 5, 4, 5));
+        game.makeMove(move(7, 6, 6, 6));
+        game.makeMove(move(1, 4, 5, 8));
+
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        ChessGame copy = gson.fromJson(gson.toJson(game), ChessGame.class);
+        assertEquals(ChessGame.GameStatus.CHECK, copy.getStatus());
+        assertEquals(game.getZobristKey(), copy.getZobristKey());
+    }
+
+    @Test
+    void legacyJsonGetsCastlingRightsFromBoard() {
+        // Saved before castling rights were tracked: the white queen-side rook and the black king have moved
+        String legacy = "{\"board\":{\"board\":{"
+                + "\"1,5\":{\"pieceColor\":\"WHITE\",\"pieceType\":\"KING\"},"
+                + "\"1,8\":{\"pieceColor\":\"WHITE\",\"pieceType\":\"ROOK\"},"
+                + "\"2,1\":{\"pieceColor\":\"WHITE\",\"pieceType\":\"ROOK\"},"
+                + "\"8,4\":{\"pieceColor\":\"BLACK\",\"pieceType\":\"KING\"},"
+                + "\"8,1\":{\"pieceColor\":\"BLACK\",\"pieceType\":\"ROOK\"},"
+                + "\"8,8\":{\"pieceColor\":\"BLACK\",\"pieceType\":\"ROOK\"}}},"
+                + "\"currentTurn\":\"WHITE\",\"gameOver\":false}";
+
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        ChessGame game = gson.fromJson(legacy, ChessGame.class);
+        assertEquals(Castling.WHITE_KING_SIDE, game.castlingRights());
+        assertTrue(game.validMoves(ChessPosition.of(1, 5)).contains(move(1, 5, 1, 7)));
+        assertFalse(game.validMoves(ChessPosition.of(1, 5)).contains(move(1, 5, 1, 3)));
+
+        // Rights that were saved are kept as they are
+        ChessGame copy = gson.fromJson(gson.toJson(new ChessGame()), ChessGame.class);
+        assertEquals(Castling.ALL, copy.castlingRights());
+    }
+
+    @Test
+    void knightShuffleIsThreefoldRepetition() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 2; i++) {
+            game.makeMove(move(1, 7, 3, 6));
+            game.makeMove(move(8, 7, 6, 6));
+            game.makeMove(move(3, 6, 1, 7));
+            assertFalse(game.isThreefoldRepetition());
+            game.makeMove(move(6, 6, 8, 7));
+        }
+        assertTrue(game.isThreefoldRepetition());
+        assertEquals(ChessGame.GameStatus.DRAW, game.getStatus());
+        assertEquals(8, game.getHalfmoveClock());
+    }
+
+    @Test
+    void pawnMoveResetsClockAndHistory() throws InvalidMoveException {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(1, 7, 3, 6));
+        game.makeMove(move(8, 7, 6, 6));
+        assertEquals(2, game.getHalfmoveClock());
+
+        game.makeMove(move(2, 5, 4, 5));
+        assertEquals(0, game.getHalfmoveClock());
+
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        String json = gson.toJson(game);
+        assertTrue(json.contains("\"history\":[]"), json);
+        assertEquals(0, gson.fromJson(json, ChessGame.class).getHalfmoveClock());
+    }
+
+    private static ChessMove move(int fromRow, int fromCol, int toRow, int toCol) {
+        return new ChessMove(ChessPosition.of(fromRow, fromCol), ChessPosition.of(toRow, toCol), null);
+    }
+}
@@ -0,0 +1,68 @@
+package chess;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerftTest {
+
+    @Test
+    void startPositionNodeCounts() {
+        ChessGame game = new ChessGame();
+        assertEquals(1, Perft.perft(game, 0));
+        assertEquals(20, Perft.perft(game, 1));
+        assertEquals(400, Perft.perft(game, 2));
+        assertEquals(8902, Perft.perft(game, 3));
+        assertEquals(197281, Perft.perft(game, 4));
+        assertEquals(4865609, Perft.perft(game, 5));
+    }
+
+    @Test
+    void kiwipeteNodeCounts() {
+        ChessGame game = Perft.position(Perft.KIWIPETE, ChessGame.TeamColor.WHITE);
+        assertEquals(48, Perft.perft(game, 1));
+        assertEquals(2039, Perft.perft(game, 2));
+        assertEquals(97862, Perft.perft(game, 3));
+    }
+
+    @Test
+    void enPassantAndPinNodeCounts() {
+        // "Position 3" from the chess programming wiki: en passant captures that expose the king along a rank
+        ChessGame game = Perft.position("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8", ChessGame.TeamColor.WHITE);
+        assertEquals(14, Perft.perft(game, 1));
+        assertEquals(191, Perft.perft(game, 2));
+        assertEquals(2812, Perft.perft(game, 3));
+        assertEquals(43238, Perft.perft(game, 4));
+    }
+
+    @Test
+    void promotionAndCastlingNodeCounts() {
+        // "Position 4": white has castled, black keeps both castling rights
+        ChessGame game = Perft.position("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1",
+                ChessGame.TeamColor.WHITE);
+        assertEquals(6, Perft.perft(game, 1));
+        assertEquals(264, Perft.perft(game, 2));
+        assertEquals(9467, Perft.perft(game, 3));
+    }
+
+    @Test
+    void perftLeavesGameUnchanged() {
+        ChessGame game = new ChessGame();
+        long key = game.getZobristKey();
+        ChessBoard before = new ChessBoard(game.getBoard());
+
+        Perft.perft(game, 4);
+
+        assertEquals(before, game.getBoard());
+        assertEquals(key, game.getZobristKey());
+        assertEquals(ChessGame.TeamColor.WHITE, game.getTeamTurn());
+    }
+
+    @Test
+    void divideSumsToPerft() {
+        ChessGame game = Perft.position(Perft.START_POSITION, ChessGame.TeamColor.WHITE);
+        long total = Perft.divide(game, 3).values().stream().mapToLong(Long::longValue).sum();
+        assertEquals(Perft.perft(game, 3), total);
+        assertEquals(20, Perft.divide(game, 3).size());
+    }
+}